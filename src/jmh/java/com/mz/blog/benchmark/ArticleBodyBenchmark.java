@@ -0,0 +1,135 @@
+package com.mz.blog.benchmark;
+
+import com.mz.blog.dto.projection.ArticleSummary;
+import com.mz.blog.entity.Article;
+import com.mz.blog.repository.ArticleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List page of 20 articles read three ways: entities with the body selected alongside (the
+ * state before {@code Article.content} became lazy), plain entity pages with the lazy body,
+ * and the summary projection the list endpoints use. Setup prints the payload bytes per page.
+ * Needs the enhanced main classes, which the normal build produces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArticleBodyBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param("5000")
+    private int articles;
+
+    private BenchmarkDatabase database;
+    private EntityManagerFactory entityManagerFactory;
+    private ArticleRepository articleRepository;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start(articles, 0);
+        entityManagerFactory = database.getBean(EntityManagerFactory.class);
+        articleRepository = database.getBean(ArticleRepository.class);
+
+        System.out.printf("%nPayload per page of %d: entity with body %d bytes, entity with lazy body %d bytes, summary %d bytes%n",
+                PAGE_SIZE, entityBytes(entityPageWithBody(0)), entityBytes(entityPage(0)), summaryBytes(summaryPage(0)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<Object[]> listEntitiesWithBody() {
+        return entityPageWithBody(randomPage());
+    }
+
+    @Benchmark
+    public List<Article> listEntitiesLazyBody() {
+        return entityPage(randomPage());
+    }
+
+    @Benchmark
+    public List<ArticleSummary> listSummaries() {
+        return summaryPage(randomPage());
+    }
+
+    private List<Object[]> entityPageWithBody(int page) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager.createQuery("select a, a.content from Article a order by a.createdOn desc, a.id desc", Object[].class)
+                    .setFirstResult(page * PAGE_SIZE)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        }
+    }
+
+    private List<Article> entityPage(int page) {
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            return entityManager.createQuery("select a from Article a order by a.createdOn desc, a.id desc", Article.class)
+                    .setFirstResult(page * PAGE_SIZE)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        }
+    }
+
+    private List<ArticleSummary> summaryPage(int page) {
+        return articleRepository.findAllSummariesAsSlice(
+                PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdOn", "id"))).getContent();
+    }
+
+    private int randomPage() {
+        return ThreadLocalRandom.current().nextInt(articles / PAGE_SIZE);
+    }
+
+    private static long entityBytes(List<?> rows) {
+        long bytes = 0;
+        for (Object row : rows) {
+            Article article = (Article) (row instanceof Object[] tuple ? tuple[0] : row);
+            bytes += utf8(article.getTitle()) + utf8(article.getSlug()) + utf8(article.getExcerpt());
+            if (row instanceof Object[] tuple) {
+                bytes += utf8((String) tuple[1]);
+            } else if (Hibernate.isPropertyInitialized(article, "content")) {
+                bytes += utf8(article.getContent());
+            }
+        }
+        return bytes;
+    }
+
+    private static long summaryBytes(List<ArticleSummary> rows) {
+        long bytes = 0;
+        for (ArticleSummary summary : rows) {
+            bytes += utf8(summary.getTitle()) + utf8(summary.getSlug()) + utf8(summary.getExcerpt())
+                    + utf8(summary.getAuthorName()) + utf8(summary.getCategoryName());
+        }
+        return bytes;
+    }
+
+    private static long utf8(String value) {
+        return value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
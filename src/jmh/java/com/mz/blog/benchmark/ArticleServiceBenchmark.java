@@ -0,0 +1,115 @@
+package com.mz.blog.benchmark;
+
+import com.mz.blog.cache.ArticleDetailCache;
+import com.mz.blog.dto.response.ArticleDetailResponse;
+import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.CommentResponse;
+import com.mz.blog.dto.response.CursorPageResponse;
+import com.mz.blog.dto.response.PageResponse;
+import com.mz.blog.search.SearchSort;
+import com.mz.blog.service.ArticleService;
+import com.mz.blog.service.CommentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end service calls against a seeded in-memory database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ArticleServiceBenchmark {
+
+    private static final int HOT_ARTICLES = 100;
+
+    @Param("20000")
+    private int articles;
+
+    @Param("10")
+    private int commentsPerArticle;
+
+    private BenchmarkDatabase database;
+    private ArticleService articleService;
+    private CommentService commentService;
+    private ArticleDetailCache articleDetailCache;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start(articles, commentsPerArticle);
+        articleService = database.getBean(ArticleService.class);
+        commentService = database.getBean(CommentService.class);
+        articleDetailCache = database.getBean(ArticleDetailCache.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public PageResponse<ArticleResponse> listArticlesWithTotal() {
+        return articleService.getAllArticles(randomPage(), 20, "createdOn", "desc", true);
+    }
+
+    @Benchmark
+    public PageResponse<ArticleResponse> listArticlesWithoutTotal() {
+        return articleService.getAllArticles(randomPage(), 20, "createdOn", "desc", false);
+    }
+
+    @Benchmark
+    public CursorPageResponse<ArticleResponse> listArticlesFirstCursorPage() {
+        return articleService.getAllArticlesByCursor("", 20);
+    }
+
+    @Benchmark
+    public PageResponse<ArticleResponse> listArticlesByCategory() {
+        long categoryId = ThreadLocalRandom.current().nextLong(BenchmarkDatabase.CATEGORIES) + 1;
+        return articleService.getArticlesByCategory(categoryId, 0, 20, true);
+    }
+
+    @Benchmark
+    public ArticleDetailResponse articleDetailCached() {
+        return articleService.getArticleById(ThreadLocalRandom.current().nextLong(HOT_ARTICLES) + 1, 10);
+    }
+
+    @Benchmark
+    public ArticleDetailResponse articleDetailUncached() {
+        long id = randomArticleId();
+        articleDetailCache.invalidate(id);
+        return articleService.getArticleById(id, 10);
+    }
+
+    @Benchmark
+    public PageResponse<CommentResponse> commentsByArticle() {
+        return commentService.getCommentsByArticle(randomArticleId(), 0, 20, true);
+    }
+
+    @Benchmark
+    public PageResponse<ArticleResponse> searchArticles() {
+        return articleService.searchArticles("cache latency", SearchSort.RELEVANCE, 0, 20);
+    }
+
+    private long randomArticleId() {
+        return ThreadLocalRandom.current().nextLong(articles) + 1;
+    }
+
+    private int randomPage() {
+        return ThreadLocalRandom.current().nextInt(Math.max(1, articles / 20));
+    }
+}
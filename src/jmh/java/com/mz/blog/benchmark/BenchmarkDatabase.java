@@ -0,0 +1,134 @@
+package com.mz.blog.benchmark;
+
+import com.mz.blog.BlogManagementApiApplication;
+import com.mz.blog.config.IdSequenceInitializer;
+import com.mz.blog.search.ArticleSearchIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Boots the application against an in-memory H2 database (profile {@code bench}) and seeds it
+ * through JDBC batches, bypassing the services so setup stays fast at large volumes.
+ */
+public final class BenchmarkDatabase implements AutoCloseable {
+
+    public static final int CATEGORIES = 25;
+    public static final int ARTICLES_PER_AUTHOR = 50;
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final ConfigurableApplicationContext context;
+    private final int articles;
+    private final int authors;
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context, int articles) {
+        this.context = context;
+        this.articles = articles;
+        this.authors = Math.max(1, articles / ARTICLES_PER_AUTHOR);
+    }
+
+    public static BenchmarkDatabase start(int articles, int commentsPerArticle, String... extraProfiles) {
+        String[] profiles = new String[extraProfiles.length + 1];
+        profiles[0] = "bench";
+        System.arraycopy(extraProfiles, 0, profiles, 1, extraProfiles.length);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogManagementApiApplication.class)
+                .profiles(profiles)
+                .run();
+        BenchmarkDatabase database = new BenchmarkDatabase(context, articles);
+        database.seed(commentsPerArticle);
+        context.getBean(IdSequenceInitializer.class).alignWithExistingRows();
+        context.getBean(ArticleSearchIndex.class).rebuild();
+        return database;
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public int getPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    public int getArticles() {
+        return articles;
+    }
+
+    public int getAuthors() {
+        return authors;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(int commentsPerArticle) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42);
+        Timestamp epoch = Timestamp.valueOf(BenchmarkFixtures.EPOCH);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= CATEGORIES; id++) {
+            rows.add(new Object[]{id, "Category " + id, BenchmarkFixtures.words(random, 15), epoch});
+        }
+        insert(jdbc, "INSERT INTO categories (id, name, description, created_on) VALUES (?, ?, ?, ?)", rows);
+
+        for (long id = 1; id <= authors; id++) {
+            rows.add(new Object[]{id, "Author " + id, "author" + id + "@example.com",
+                    BenchmarkFixtures.words(random, 30), epoch, epoch});
+        }
+        insert(jdbc, "INSERT INTO authors (id, name, email, bio, created_on, updated_on) VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        long commentId = 1;
+        List<Object[]> comments = new ArrayList<>();
+        for (long id = 1; id <= articles; id++) {
+            Timestamp createdOn = Timestamp.valueOf(BenchmarkFixtures.EPOCH.plusMinutes(id));
+            int approved = 0;
+            for (int i = 0; i < commentsPerArticle; i++) {
+                boolean isApproved = i % 4 != 0;
+                approved += isApproved ? 1 : 0;
+                comments.add(new Object[]{commentId++, id, "Reader " + i, "reader" + i + "@example.com",
+                        BenchmarkFixtures.words(random, 40), isApproved,
+                        Timestamp.valueOf(BenchmarkFixtures.EPOCH.plusMinutes(id + i))});
+            }
+            rows.add(new Object[]{id, BenchmarkFixtures.title(random), "article-" + id,
+                    BenchmarkFixtures.words(random, 600), BenchmarkFixtures.words(random, 25),
+                    id % 5 == 0 ? "DRAFT" : "PUBLISHED", id % authors + 1, id % CATEGORIES + 1,
+                    random.nextInt(10_000), commentsPerArticle, approved, createdOn, createdOn, createdOn});
+            if (rows.size() == BATCH_SIZE) {
+                insertArticles(jdbc, rows);
+                insertComments(jdbc, comments);
+            }
+        }
+        insertArticles(jdbc, rows);
+        insertComments(jdbc, comments);
+    }
+
+    private static void insertArticles(JdbcTemplate jdbc, List<Object[]> rows) {
+        insert(jdbc, """
+                INSERT INTO articles (id, title, slug, content, excerpt, status, author_id, category_id,
+                    view_count, comment_count, approved_comment_count, published_on, created_on, updated_on, version)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+                """, rows);
+    }
+
+    private static void insertComments(JdbcTemplate jdbc, List<Object[]> rows) {
+        insert(jdbc, """
+                INSERT INTO comments (id, article_id, author_name, author_email, content, approved, created_on)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+        rows.clear();
+    }
+}
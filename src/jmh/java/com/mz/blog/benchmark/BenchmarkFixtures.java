@@ -0,0 +1,97 @@
+package com.mz.blog.benchmark;
+
+import com.mz.blog.entity.Article;
+import com.mz.blog.entity.ArticleStatus;
+import com.mz.blog.entity.Author;
+import com.mz.blog.entity.Category;
+import com.mz.blog.entity.Comment;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory entities and text for the benchmarks.
+ */
+public final class BenchmarkFixtures {
+
+    private static final String[] WORDS = {
+            "spring", "java", "database", "index", "query", "cache", "latency", "throughput",
+            "design", "service", "request", "response", "article", "comment", "author", "category",
+            "performance", "memory", "thread", "lock", "stream", "batch", "page", "cursor",
+            "the", "and", "with", "from", "into", "over", "under", "about",
+            "simple", "fast", "scalable", "robust", "modern", "legacy", "distributed", "local",
+            "guide", "notes", "tips", "patterns", "lessons", "deep", "dive", "intro"
+    };
+
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder(count * 8);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    public static String title(Random random) {
+        String title = words(random, 4 + random.nextInt(6));
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1) + (random.nextBoolean() ? "!" : "");
+    }
+
+    public static Author author(long id, Random random) {
+        Author author = new Author();
+        author.setId(id);
+        author.setName("Author " + id);
+        author.setEmail("author" + id + "@example.com");
+        author.setBio(words(random, 30));
+        author.setCreatedOn(EPOCH);
+        author.setUpdatedOn(EPOCH);
+        return author;
+    }
+
+    public static Category category(long id, Random random) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName("Category " + id);
+        category.setDescription(words(random, 15));
+        category.setCreatedOn(EPOCH);
+        return category;
+    }
+
+    public static Article article(long id, int comments, Random random) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title(random));
+        article.setSlug("article-" + id);
+        article.setExcerpt(words(random, 25));
+        article.setContent(words(random, 600));
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setAuthor(author(id % 50 + 1, random));
+        article.setCategory(category(id % 10 + 1, random));
+        article.setViewCount(random.nextInt(10_000));
+        article.setPublishedOn(EPOCH.plusMinutes(id));
+        article.setCreatedOn(EPOCH.plusMinutes(id));
+        article.setUpdatedOn(EPOCH.plusMinutes(id));
+        article.setEtagVersion(0L);
+        for (int i = 0; i < comments; i++) {
+            Comment comment = new Comment();
+            comment.setId(id * 1_000 + i);
+            comment.setArticle(article);
+            comment.setAuthorName("Reader " + i);
+            comment.setAuthorEmail("reader" + i + "@example.com");
+            comment.setContent(words(random, 40));
+            comment.setApproved(i % 4 != 0);
+            comment.setCreatedOn(EPOCH.plusMinutes(id + i));
+            article.getComments().add(comment);
+        }
+        article.setCommentCount(comments);
+        article.setApprovedCommentCount((int) article.getComments().stream().filter(Comment::getApproved).count());
+        return article;
+    }
+}
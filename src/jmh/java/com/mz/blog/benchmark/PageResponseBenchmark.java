@@ -0,0 +1,78 @@
+package com.mz.blog.benchmark;
+
+import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.PageResponse;
+import com.mz.blog.mapper.ArticleMapper;
+import com.mz.blog.mapper.AuthorMapper;
+import com.mz.blog.mapper.CategoryMapper;
+import com.mz.blog.mapper.CommentMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List page assembly as done by the services, and its JSON rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageResponseBenchmark {
+
+    @Param({"10", "50", "200"})
+    private int pageSize;
+
+    private Page<ArticleResponse> page;
+    private PageResponse<ArticleResponse> pageResponse;
+    private JsonMapper jsonMapper;
+
+    @Setup
+    public void setUp() {
+        ArticleMapper articleMapper = new ArticleMapper(new CommentMapper(), new AuthorMapper(), new CategoryMapper());
+        Random random = new Random(42);
+        List<ArticleResponse> content = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            content.add(articleMapper.toResponse(BenchmarkFixtures.article(id, 0, random)));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 20_000);
+        pageResponse = buildPageResponse();
+        jsonMapper = JsonMapper.builder().build();
+    }
+
+    @Benchmark
+    public PageResponse<ArticleResponse> buildPageResponse() {
+        return PageResponse.<ArticleResponse>builder()
+                .content(new ArrayList<>(page.getContent()))
+                .pageNumber(page.getNumber())
+                .pageSize(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .last(page.isLast())
+                .first(page.isFirst())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serializePageResponse() {
+        return jsonMapper.writeValueAsBytes(pageResponse);
+    }
+}
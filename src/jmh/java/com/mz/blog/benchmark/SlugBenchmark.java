@@ -0,0 +1,63 @@
+package com.mz.blog.benchmark;
+
+import com.mz.blog.service.SlugGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class SlugBenchmark {
+
+    private static final int TITLES = 256;
+
+    private String[] titles;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        titles = new String[TITLES];
+        for (int i = 0; i < TITLES; i++) {
+            titles[i] = BenchmarkFixtures.title(random);
+        }
+    }
+
+    // each call slugifies all TITLES titles; run with -prof gc to compare allocation rates
+    @Benchmark
+    public void singlePass(Blackhole blackhole) {
+        for (String title : titles) {
+            blackhole.consume(SlugGenerator.slugify(title));
+        }
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        for (String title : titles) {
+            blackhole.consume(legacyGenerateSlug(title));
+        }
+    }
+
+    // the ArticleMapper implementation this replaced
+    private static String legacyGenerateSlug(String title) {
+        return title.toLowerCase()
+                .replaceAll("[^a-zA-Z0-9]", "")
+                .replaceAll("\\s+","-")
+                .replaceAll("-+", "-")
+        .trim();
+    }
+}
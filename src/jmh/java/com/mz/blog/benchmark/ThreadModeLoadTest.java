@@ -0,0 +1,176 @@
+package com.mz.blog.benchmark;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test comparing the default platform-thread Tomcat with the "virtual"
+ * profile. Each mode boots the seeded benchmark application, warms up, then measures throughput
+ * and latency percentiles for a mix of listing and detail reads. Results are printed and written
+ * to target/loadtest-result.json.
+ *
+ * <pre>
+ * mvn -Pjmh -DskipTests test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mz.blog.benchmark.ThreadModeLoadTest -Dloadtest.concurrency=400
+ * </pre>
+ *
+ * The virtual mode needs a Java 21+ runtime and is skipped otherwise. Pass
+ * -Dspring.datasource.url=... (plus credentials and dialect) to run against MySQL instead of H2.
+ */
+public final class ThreadModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int ARTICLES = Integer.getInteger("loadtest.articles", 20_000);
+    private static final int COMMENTS_PER_ARTICLE = Integer.getInteger("loadtest.comments-per-article", 10);
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Result> results = new ArrayList<>();
+        results.add(run("platform"));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual"));
+        } else {
+            System.out.println("Skipping virtual mode: Java " + Runtime.version().feature() + " has no virtual threads");
+        }
+
+        results.forEach(System.out::println);
+        File output = new File("target/loadtest-result.json");
+        output.getParentFile().mkdirs();
+        JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(output, results);
+        System.exit(0);
+    }
+
+    private static Result run(String mode) throws Exception {
+        String[] profiles = mode.equals("virtual") ? new String[]{"virtual"} : new String[0];
+        try (BenchmarkDatabase database = BenchmarkDatabase.start(ARTICLES, COMMENTS_PER_ARTICLE, profiles)) {
+            String baseUrl = "http://localhost:" + database.getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newFixedThreadPool(16))
+                    .build();
+
+            drive(client, baseUrl, WARMUP_SECONDS);
+            Measurement measurement = drive(client, baseUrl, DURATION_SECONDS);
+
+            long[] latencies = measurement.latencies();
+            Arrays.sort(latencies);
+            return new Result(mode, CONCURRENCY, DURATION_SECONDS, latencies.length, measurement.errors.get(),
+                    latencies.length / (double) DURATION_SECONDS,
+                    percentileMs(latencies, 0.50), percentileMs(latencies, 0.99), percentileMs(latencies, 0.999));
+        }
+    }
+
+    private static Measurement drive(HttpClient client, String baseUrl, int seconds) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Measurement measurement = new Measurement();
+        for (int i = 0; i < CONCURRENCY; i++) {
+            workers.execute(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(nextRequest(baseUrl), HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            measurement.errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        measurement.errors.incrementAndGet();
+                        continue;
+                    }
+                    recorder.record(System.nanoTime() - start);
+                }
+                measurement.add(recorder);
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return measurement;
+    }
+
+    // 60% detail reads over a hot set, 40% listing pages
+    private static HttpRequest nextRequest(String baseUrl) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = random.nextInt(10) < 6
+                ? "/api/articles/" + (random.nextInt(ARTICLES) + 1)
+                : "/api/articles?page=" + random.nextInt(50) + "&size=20&sortBy=createdOn&sortDir=desc";
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private static double percentileMs(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(percentile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class LatencyRecorder {
+
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void record(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+    }
+
+    private static final class Measurement {
+
+        private final List<LatencyRecorder> recorders = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(LatencyRecorder recorder) {
+            recorders.add(recorder);
+        }
+
+        synchronized long[] latencies() {
+            long[] all = new long[recorders.stream().mapToInt(recorder -> recorder.size).sum()];
+            int offset = 0;
+            for (LatencyRecorder recorder : recorders) {
+                System.arraycopy(recorder.nanos, 0, all, offset, recorder.size);
+                offset += recorder.size;
+            }
+            return all;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Result {
+
+        private String mode;
+        private int concurrency;
+        private int durationSeconds;
+        private long requests;
+        private long errors;
+        private double throughputPerSecond;
+        private double p50Ms;
+        private double p99Ms;
+        private double p999Ms;
+    }
+}
@@ -0,0 +1,57 @@
+package com.mz.blog.mapper;
+
+import com.mz.blog.benchmark.BenchmarkFixtures;
+import com.mz.blog.dto.response.ArticleDetailResponse;
+import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.AuthorResponse;
+import com.mz.blog.dto.response.CategoryResponse;
+import com.mz.blog.entity.Article;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleMapperBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    private int comments;
+
+    private ArticleMapper articleMapper;
+    private Article article;
+    private AuthorResponse author;
+    private CategoryResponse category;
+
+    @Setup
+    public void setUp() {
+        articleMapper = new ArticleMapper(new CommentMapper(), new AuthorMapper(), new CategoryMapper());
+        article = BenchmarkFixtures.article(1L, comments, new Random(42));
+        author = new AuthorMapper().toResponse(article.getAuthor(), 25);
+        category = new CategoryMapper().toResponse(article.getCategory(), 400);
+    }
+
+    @Benchmark
+    public ArticleResponse toResponse() {
+        return articleMapper.toResponse(article);
+    }
+
+    @Benchmark
+    public ArticleDetailResponse toDetailResponse() {
+        return articleMapper.toDetailResponse(article, author, category, article.getComments());
+    }
+}
@@ -0,0 +1,227 @@
+package com.mz.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.mz.blog.dto.response.ArticleDetailResponse;
+import com.mz.blog.dto.response.CacheStatsResponse;
+import com.mz.blog.dto.response.CommentResponse;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.event.AuthorChangedEvent;
+import com.mz.blog.event.CommentChangedEvent;
+import com.mz.blog.event.ViewCountsFlushedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link ArticleDetailResponse} keyed by article id, with a
+ * slug to id index on the side. Eviction is Caffeine's W-TinyLFU; entries are dropped after
+ * commit by article, comment and author change events. Concurrent misses on one key share a single load.
+ * Categories cannot be edited, so their embedded copy only drifts in its article count, which
+ * like the author's count is left to expire with the entry.
+ */
+@Component
+@Slf4j
+public class ArticleDetailCache implements MeterBinder {
+
+    public static final String NAME = "article-details";
+
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+    private static final int HOT_KEYS_REPORTED = 10;
+
+    private final Cache<Long, ArticleDetailResponse> detailsById;
+    private final Cache<String, Long> idsBySlug;
+    private final SingleFlight<Long, ArticleDetailResponse> loadsById;
+    private final SingleFlight<String, ArticleDetailResponse> loadsBySlug;
+
+    // bumped on every invalidation so loads that raced with a write do not repopulate stale data
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ArticleDetailCache(@Value("${blog.cache.article.max-entries:10000}") long maxEntries,
+                              @Value("${blog.cache.article.max-weight-bytes:67108864}") long maxWeightBytes,
+                              @Value("${blog.cache.article.expire-after-write:10m}") Duration expireAfterWrite,
+                              @Value("${blog.cache.article.coalesce-timeout:2s}") Duration coalesceTimeout) {
+        // every entry weighs at least maxWeight/maxEntries, which also caps the entry count
+        int minimumWeight = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxWeightBytes / Math.max(1, maxEntries)));
+        this.idsBySlug = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+        this.detailsById = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((Long id, ArticleDetailResponse detail) -> Math.max(minimumWeight, estimateWeight(detail)))
+                .expireAfterWrite(expireAfterWrite)
+                .executor(Runnable::run)
+                .removalListener((Long id, ArticleDetailResponse detail, RemovalCause cause) -> {
+                    // a replacement (view flush, refill) keeps the entry; a stale slug is rejected on read anyway
+                    if (cause != RemovalCause.REPLACED && detail != null && detail.getSlug() != null) {
+                        idsBySlug.asMap().remove(detail.getSlug(), id);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.loadsById = new SingleFlight<>("id", coalesceTimeout);
+        this.loadsBySlug = new SingleFlight<>("slug", coalesceTimeout);
+    }
+
+    public ArticleDetailResponse getById(Long id, Function<Long, ArticleDetailResponse> loader) {
+        ArticleDetailResponse cached = detailsById.getIfPresent(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return loadsById.load(id, key -> {
+            long observed = generation.get();
+            ArticleDetailResponse loaded = loader.apply(key);
+            put(loaded, observed);
+            return loaded;
+        });
+    }
+
+    public ArticleDetailResponse getBySlug(String slug, Function<String, ArticleDetailResponse> loader) {
+        Long id = idsBySlug.getIfPresent(slug);
+        if (id != null) {
+            ArticleDetailResponse cached = detailsById.getIfPresent(id);
+            if (cached != null && slug.equals(cached.getSlug())) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        return loadsBySlug.load(slug, key -> {
+            long observed = generation.get();
+            ArticleDetailResponse loaded = loader.apply(key);
+            put(loaded, observed);
+            return loaded;
+        });
+    }
+
+    public ArticleDetailResponse peek(Long id) {
+        return detailsById.getIfPresent(id);
+    }
+
+    public ArticleDetailResponse peekBySlug(String slug) {
+        Long id = idsBySlug.getIfPresent(slug);
+        ArticleDetailResponse cached = id == null ? null : detailsById.getIfPresent(id);
+        return cached != null && slug.equals(cached.getSlug()) ? cached : null;
+    }
+
+    public void invalidate(Long articleId) {
+        generation.incrementAndGet();
+        loadsById.forget(articleId);
+        // the slug is not known here, and slug loads in flight are few
+        loadsBySlug.forgetAll();
+        detailsById.invalidate(articleId);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        loadsById.forgetAll();
+        loadsBySlug.forgetAll();
+        detailsById.invalidateAll();
+        idsBySlug.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() != ArticleChangedEvent.Type.CREATED) {
+            invalidate(event.getArticleId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        invalidate(event.getArticleId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        generation.incrementAndGet();
+        loadsById.forgetAll();
+        loadsBySlug.forgetAll();
+        detailsById.asMap().values().removeIf(detail ->
+                detail.getAuthor() != null && event.getAuthorId().equals(detail.getAuthor().getId()));
+    }
+
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        generation.incrementAndGet();
+        // fold the flushed views into cached entries instead of reloading hot articles
+        for (Map.Entry<Long, Long> delta : event.getDeltas().entrySet()) {
+            detailsById.asMap().computeIfPresent(delta.getKey(), (id, detail) -> detail.toBuilder()
+                    .viewCount((int) Math.min(Integer.MAX_VALUE, detail.getViewCount() + delta.getValue()))
+                    .build());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, detailsById, NAME);
+        loadsById.bindTo(registry, NAME);
+        loadsBySlug.bindTo(registry, NAME);
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = detailsById.stats();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return CacheStatsResponse.builder()
+                .name(NAME)
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(lookups == 0 ? 0 : (double) hitCount / lookups)
+                .evictions(stats.evictionCount())
+                .size(detailsById.estimatedSize())
+                .weightedSize(detailsById.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L))
+                .coalescedLoads(loadsById.getCoalesced() + loadsBySlug.getCoalesced())
+                .hotIds(loadsById.topCoalescedKeys(HOT_KEYS_REPORTED))
+                .hotSlugs(loadsBySlug.topCoalescedKeys(HOT_KEYS_REPORTED))
+                .build();
+    }
+
+    private void put(ArticleDetailResponse detail, long observedGeneration) {
+        if (generation.get() != observedGeneration) {
+            log.debug("Skipping cache fill for article {} after a concurrent invalidation", detail.getId());
+            return;
+        }
+        detailsById.put(detail.getId(), detail);
+        idsBySlug.put(detail.getSlug(), detail.getId());
+        if (generation.get() != observedGeneration) {
+            detailsById.invalidate(detail.getId());
+        }
+    }
+
+    private static int estimateWeight(ArticleDetailResponse detail) {
+        long bytes = ENTRY_OVERHEAD_BYTES
+                + length(detail.getTitle()) + length(detail.getSlug())
+                + length(detail.getContent()) + length(detail.getExcerpt());
+        if (detail.getComments() != null) {
+            for (CommentResponse comment : detail.getComments()) {
+                bytes += 128 + length(comment.getContent()) + length(comment.getAuthorName()) + length(comment.getAuthorEmail());
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
@@ -0,0 +1,82 @@
+package com.mz.blog.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Bloom filter over strings, sized for an expected number of keys and a target false
+ * positive rate. Probe positions come from two 64-bit hashes combined as {@code h1 + i * h2}.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final long capacity;
+    private final LongAdder insertions = new LongAdder();
+
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long keys = Math.max(1, expectedKeys);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * 64;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * Math.log(2)));
+        this.capacity = keys;
+    }
+
+    void add(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            words.accumulateAndGet((int) (bit >>> 6), mask, (word, m) -> word | m);
+        }
+        insertions.increment();
+    }
+
+    boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Past its capacity the false positive rate climbs above the target
+    boolean isSaturated() {
+        return insertions.sum() > capacity;
+    }
+
+    long getInsertions() {
+        return insertions.sum();
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    // FNV-1a over the UTF-16 code units, finished with the MurmurHash3 avalanche
+    private static long hash(String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
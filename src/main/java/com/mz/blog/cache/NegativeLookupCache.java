@@ -0,0 +1,116 @@
+package com.mz.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, short-lived memory of lookups that found nothing, so repeated requests for missing
+ * ids and slugs are answered with a 404 without touching the database. Keys are forgotten once
+ * a matching row is committed; the TTL bounds staleness for writes that bypass the services.
+ */
+@Component
+public class NegativeLookupCache implements MeterBinder {
+
+    public static final String NAME = "negative-lookups";
+
+    private final Cache<String, Boolean> missing;
+    // bumped on every invalidation so a lookup that raced with a commit does not record the key again
+    private final AtomicLong generation = new AtomicLong();
+
+    public NegativeLookupCache(@Value("${blog.cache.negative.max-entries:100000}") long maxEntries,
+                               @Value("${blog.cache.negative.ttl:30s}") Duration ttl) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public <T> T find(String resource, String field, Object value, Supplier<Optional<T>> lookup) {
+        return load(resource, field, value, () -> lookup.get()
+                .orElseThrow(() -> new ResourceNotFoundException(resource, field, value)));
+    }
+
+    // The loader's not-found for this key is remembered; anything else it throws passes through
+    public <T> T load(String resource, String field, Object value, Supplier<T> loader) {
+        String key = key(resource, field, value);
+        if (missing.getIfPresent(key) != null) {
+            throw new ResourceNotFoundException(resource, field, value);
+        }
+        long observed = generation.get();
+        try {
+            return loader.get();
+        } catch (ResourceNotFoundException e) {
+            remember(key, observed);
+            throw e;
+        }
+    }
+
+    public void requireExists(String resource, String field, Object value, BooleanSupplier exists) {
+        find(resource, field, value, () -> exists.getAsBoolean() ? Optional.of(Boolean.TRUE) : Optional.empty());
+    }
+
+    // Until commit the row is invisible to other lookups, which could otherwise re-record it as missing
+    public void forgetAfterCommit(String resource, String field, Object value) {
+        String key = key(resource, field, value);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(key);
+                }
+            });
+        } else {
+            forget(key);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() != ArticleChangedEvent.Type.DELETED) {
+            forget(key("Article", "id", event.getArticleId()));
+            forget(key("Article", "slug", event.getSlug()));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, missing, NAME);
+    }
+
+    private void remember(String key, long observedGeneration) {
+        if (generation.get() != observedGeneration) {
+            return;
+        }
+        missing.put(key, Boolean.TRUE);
+        // an invalidation between the check and the put would otherwise be undone
+        if (generation.get() != observedGeneration) {
+            missing.invalidate(key);
+        }
+    }
+
+    private void forget(String key) {
+        generation.incrementAndGet();
+        missing.invalidate(key);
+    }
+
+    private static String key(String resource, String field, Object value) {
+        return resource + ':' + field + ':' + value;
+    }
+}
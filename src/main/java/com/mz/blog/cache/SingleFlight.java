@@ -0,0 +1,127 @@
+package com.mz.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into one. The first caller runs the loader; callers
+ * arriving while it is in flight wait for its result, or its exception, for at most
+ * {@code maxWait} before loading on their own.
+ */
+@Slf4j
+class SingleFlight<K, V> {
+
+    private static final int TRACKED_KEYS = 1024;
+
+    private final String name;
+    private final Duration maxWait;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    // coalesced callers per key, bounded so a crawl over cold keys cannot grow it
+    private final Cache<K, LongAdder> coalescedByKey = Caffeine.newBuilder()
+            .maximumSize(TRACKED_KEYS)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    SingleFlight(String name, Duration maxWait) {
+        this.name = name;
+        this.maxWait = maxWait;
+    }
+
+    V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, flight);
+        if (leader == null) {
+            return lead(key, flight, loader);
+        }
+        coalesced.increment();
+        coalescedByKey.get(key, k -> new LongAdder()).increment();
+        try {
+            return leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            log.warn("Waited {} for the in-flight {} load of {}, loading independently", maxWait, name, key);
+            loads.increment();
+            return loader.apply(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the " + name + " load of " + key, e);
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Function<K, V> loader) {
+        loads.increment();
+        try {
+            V value = loader.apply(key);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // Later callers start a fresh load instead of joining one that may predate a write
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    void forgetAll() {
+        inFlight.clear();
+    }
+
+    long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    Map<String, Long> topCoalescedKeys(int limit) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        coalescedByKey.asMap().entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .limit(limit)
+                .forEach(entry -> top.put(String.valueOf(entry.getKey()), entry.getValue().sum()));
+        return top;
+    }
+
+    void bindTo(MeterRegistry registry, String cacheName) {
+        FunctionCounter.builder("blog.cache.loads", loads, LongAdder::sum)
+                .description("Loads run against the database on a cache miss")
+                .tag("cache", cacheName)
+                .tag("key", name)
+                .register(registry);
+        FunctionCounter.builder("blog.cache.loads.coalesced", coalesced, LongAdder::sum)
+                .description("Cache misses served by joining a load already in flight for the same key")
+                .tag("cache", cacheName)
+                .tag("key", name)
+                .register(registry);
+        FunctionCounter.builder("blog.cache.loads.wait.timeouts", timeouts, LongAdder::sum)
+                .description("Coalesced callers that gave up waiting and loaded on their own")
+                .tag("cache", cacheName)
+                .tag("key", name)
+                .register(registry);
+    }
+}
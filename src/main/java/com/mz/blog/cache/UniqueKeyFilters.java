@@ -0,0 +1,166 @@
+package com.mz.blog.cache;
+
+import com.mz.blog.repository.ArticleRepository;
+import com.mz.blog.repository.AuthorRepository;
+import com.mz.blog.repository.CategoryRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filters over the unique article slugs, author emails and category names, so a create
+ * whose key is definitely new skips its existence query. A hit still runs the query, and the
+ * unique constraints remain the authority: callers map a unique key violation to a duplicate
+ * error. Until a filter is built every key "might exist", which is the behaviour without filters.
+ */
+@Component
+@Slf4j
+public class UniqueKeyFilters implements MeterBinder {
+
+    public enum Key {
+        ARTICLE_SLUG,
+        AUTHOR_EMAIL,
+        CATEGORY_NAME
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final double falsePositiveRate;
+    private final long minimumCapacity;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Map<Key, Tracked> tracked = new EnumMap<>(Key.class);
+
+    public UniqueKeyFilters(ArticleRepository articleRepository, AuthorRepository authorRepository,
+                            CategoryRepository categoryRepository, PlatformTransactionManager transactionManager,
+                            @Value("${blog.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${blog.bloom.minimum-capacity:100000}") long minimumCapacity) {
+        this.falsePositiveRate = falsePositiveRate;
+        this.minimumCapacity = minimumCapacity;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        tracked.put(Key.ARTICLE_SLUG, new Tracked(articleRepository::count, articleRepository::streamSlugs));
+        tracked.put(Key.AUTHOR_EMAIL, new Tracked(authorRepository::count, authorRepository::streamEmails));
+        tracked.put(Key.CATEGORY_NAME, new Tracked(categoryRepository::count, categoryRepository::streamNames));
+    }
+
+    public boolean mightExist(Key key, String value) {
+        Tracked filters = tracked.get(key);
+        BloomFilter current = filters.current;
+        if (current != null && !current.mightContain(normalize(value))) {
+            filters.skipped.increment();
+            return false;
+        }
+        filters.checked.increment();
+        return true;
+    }
+
+    // Called when a key is handed out or inserted; a rolled back insert only costs a false positive
+    public void add(Key key, String value) {
+        Tracked filters = tracked.get(key);
+        String normalized = normalize(value);
+        BloomFilter current = filters.current;
+        BloomFilter building = filters.building;
+        if (current != null) {
+            current.add(normalized);
+        }
+        if (building != null) {
+            building.add(normalized);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        tracked.keySet().forEach(this::rebuild);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.bloom.saturation-check-interval-ms:600000}")
+    public void rebuildSaturated() {
+        tracked.forEach((key, filters) -> {
+            BloomFilter current = filters.current;
+            if (current != null && current.isSaturated()) {
+                log.info("Bloom filter {} holds {} keys over its capacity of {}, rebuilding",
+                        key, current.getInsertions(), current.getCapacity());
+                rebuild(key);
+            }
+        });
+    }
+
+    public void rebuild(Key key) {
+        Tracked filters = tracked.get(key);
+        long start = System.currentTimeMillis();
+        long rows = filters.counter.get();
+        // twice the current rows, so the filter absorbs growth before it needs another rebuild
+        BloomFilter building = new BloomFilter(Math.max(minimumCapacity, 2 * rows), falsePositiveRate);
+        // keys added while the scan runs go to both filters, so none is lost in the swap
+        filters.building = building;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> values = filters.scanner.get()) {
+                    values.forEach(value -> building.add(normalize(value)));
+                }
+            });
+            filters.current = building;
+            log.info("Built bloom filter {} over {} keys in {} ms", key, building.getInsertions(),
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Could not build bloom filter {}, existence checks keep querying", key, e);
+        } finally {
+            filters.building = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        tracked.forEach((key, filters) -> {
+            String name = key.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("blog.bloom.checks", filters.skipped, LongAdder::sum)
+                    .description("Uniqueness checks answered by the filter without a query")
+                    .tag("key", name)
+                    .tag("result", "skipped")
+                    .register(registry);
+            FunctionCounter.builder("blog.bloom.checks", filters.checked, LongAdder::sum)
+                    .description("Uniqueness checks that still queried the database")
+                    .tag("key", name)
+                    .tag("result", "queried")
+                    .register(registry);
+        });
+    }
+
+    // MySQL's default collation compares case- and accent-insensitively, so the filter does too
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Tracked {
+
+        private final Supplier<Long> counter;
+        private final Supplier<Stream<String>> scanner;
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder checked = new LongAdder();
+        private volatile BloomFilter current;
+        private volatile BloomFilter building;
+
+        private Tracked(Supplier<Long> counter, Supplier<Stream<String>> scanner) {
+            this.counter = counter;
+            this.scanner = scanner;
+        }
+    }
+}
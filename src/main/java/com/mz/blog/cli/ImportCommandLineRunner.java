@@ -0,0 +1,56 @@
+package com.mz.blog.cli;
+
+import com.mz.blog.dto.response.ImportReport;
+import com.mz.blog.entity.ImportCheckpoint;
+import com.mz.blog.service.ImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Imports an NDJSON file at startup, e.g.
+ * {@code java -jar blog.jar --spring.main.web-application-type=none --blog.import.file=articles.ndjson}.
+ * The job id defaults to the file name, so rerunning the same command resumes a failed import.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.import.file")
+@RequiredArgsConstructor
+@Slf4j
+public class ImportCommandLineRunner implements CommandLineRunner {
+
+    private final ImportService importService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${blog.import.file}")
+    private String file;
+
+    @Value("${blog.import.job-id:}")
+    private String jobId;
+
+    @Value("${blog.import.exit-on-completion:true}")
+    private boolean exitOnCompletion;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path path = Path.of(file);
+        String id = jobId.isBlank() ? "file-" + path.getFileName() : jobId;
+        ImportReport report = importService.importArticles(id, path);
+        log.info("Import {} finished with status {}: {} lines, {} articles, {} comments, {} failed records",
+                id, report.getStatus(), report.getLinesProcessed(), report.getArticlesImported(),
+                report.getCommentsImported(), report.getFailedRecords());
+        if (report.getFailures() != null) {
+            report.getFailures().forEach(failure -> log.warn("Line {}: {}", failure.getLine(), failure.getError()));
+        }
+        if (exitOnCompletion) {
+            int exitCode = report.getStatus() == ImportCheckpoint.Status.COMPLETED ? 0 : 1;
+            System.exit(SpringApplication.exit(context, () -> exitCode));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.mz.blog.compression;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Storage format of article and comment bodies. Bodies below {@code blog.compression.min-bytes}
+ * are stored as plain UTF-8; larger ones as raw deflate primed with a preset dictionary, behind a
+ * header of {@link #MAGIC}, the dictionary id and the uncompressed length. {@code 0xFF} never
+ * occurs in UTF-8, so plain rows, including those written before compression existed, need no
+ * marker of their own.
+ */
+@Component
+@Slf4j
+public class BodyCodec {
+
+    static final byte MAGIC = (byte) 0xFF;
+    static final int HEADER_BYTES = 9;
+    static final int NO_DICTIONARY = 0;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int minBytes;
+    private final int level;
+
+    // dictionaries are immutable once stored, so every id ever seen stays cached
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private volatile int activeDictionaryId = NO_DICTIONARY;
+
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+    private final DistributionSummary ratio;
+    private final Timer decodeTimer;
+
+    public BodyCodec(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                     @Value("${blog.compression.min-bytes:512}") int minBytes,
+                     @Value("${blog.compression.level:6}") int level) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minBytes = minBytes;
+        this.level = level;
+        dictionaries.put(NO_DICTIONARY, EMPTY);
+        this.rawBytes = Counter.builder("blog.compression.bytes")
+                .description("Body bytes written, before compression")
+                .baseUnit("bytes")
+                .tag("stage", "raw")
+                .register(meterRegistry);
+        this.storedBytes = Counter.builder("blog.compression.bytes")
+                .description("Body bytes written, as stored")
+                .baseUnit("bytes")
+                .tag("stage", "stored")
+                .register(meterRegistry);
+        this.ratio = DistributionSummary.builder("blog.compression.ratio")
+                .description("Uncompressed to stored size of each compressed body")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.decodeTimer = Timer.builder("blog.compression.decode")
+                .description("Time spent inflating a compressed body on read")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // before any request or runner, but after the schema exists
+    @EventListener(ContextRefreshedEvent.class)
+    public void loadActiveDictionary() {
+        try {
+            List<Integer> latest = jdbcTemplate.queryForList(
+                    "SELECT id FROM compression_dictionaries ORDER BY id DESC LIMIT 1", Integer.class);
+            if (!latest.isEmpty()) {
+                activate(latest.get(0));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load the compression dictionary, compressing without one", e);
+        }
+    }
+
+    public void activate(int dictionaryId) {
+        dictionary(dictionaryId);
+        activeDictionaryId = dictionaryId;
+        log.info("Compressing bodies with dictionary {}", dictionaryId);
+    }
+
+    public int getMinBytes() {
+        return minBytes;
+    }
+
+    public int getActiveDictionaryId() {
+        return activeDictionaryId;
+    }
+
+    public int getActiveDictionarySize() {
+        return dictionary(activeDictionaryId).length;
+    }
+
+    // Rows already stored under the active dictionary start with these bytes
+    public byte[] activePrefix() {
+        return ByteBuffer.allocate(5).put(MAGIC).putInt(activeDictionaryId).array();
+    }
+
+    public byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] plain = text.getBytes(StandardCharsets.UTF_8);
+        rawBytes.increment(plain.length);
+        if (plain.length < minBytes) {
+            storedBytes.increment(plain.length);
+            return plain;
+        }
+        int dictionaryId = activeDictionaryId;
+        byte[] compressed = deflate(plain, dictionary(dictionaryId));
+        if (compressed.length + HEADER_BYTES >= plain.length) {
+            storedBytes.increment(plain.length);
+            return plain;
+        }
+        byte[] stored = ByteBuffer.allocate(HEADER_BYTES + compressed.length)
+                .put(MAGIC)
+                .putInt(dictionaryId)
+                .putInt(plain.length)
+                .put(compressed)
+                .array();
+        storedBytes.increment(stored.length);
+        ratio.record((double) plain.length / stored.length);
+        return stored;
+    }
+
+    public String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (!isCompressed(stored)) {
+            return new String(stored, StandardCharsets.UTF_8);
+        }
+        long start = System.nanoTime();
+        ByteBuffer header = ByteBuffer.wrap(stored, 1, HEADER_BYTES - 1);
+        byte[] dictionary = dictionary(header.getInt());
+        byte[] plain = inflate(stored, dictionary, header.getInt());
+        String text = new String(plain, StandardCharsets.UTF_8);
+        decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return text;
+    }
+
+    public static boolean isCompressed(byte[] stored) {
+        return stored.length >= HEADER_BYTES && stored[0] == MAGIC;
+    }
+
+    private byte[] deflate(byte[] plain, byte[] dictionary) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary.length > 0) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(plain);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored, byte[] dictionary, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            if (dictionary.length > 0) {
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(stored, HEADER_BYTES, stored.length - HEADER_BYTES);
+            byte[] plain = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(plain, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("Compressed body is truncated: " + read + " of " + length + " bytes");
+            }
+            return plain;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Compressed body is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] dictionary(int id) {
+        return dictionaries.computeIfAbsent(id, missing -> {
+            List<byte[]> found = jdbcTemplate.query("SELECT content FROM compression_dictionaries WHERE id = ?",
+                    (rs, rowNum) -> rs.getBytes(1), missing);
+            if (found.isEmpty()) {
+                throw new IllegalStateException("Compression dictionary " + missing + " does not exist");
+            }
+            return found.get(0);
+        });
+    }
+}
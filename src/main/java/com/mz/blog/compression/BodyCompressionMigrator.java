@@ -0,0 +1,224 @@
+package com.mz.blog.compression;
+
+import com.mz.blog.dto.response.CompressionStatusResponse;
+import com.mz.blog.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves stored bodies to the current storage format. The body columns must be LONGBLOB; the
+ * conversion from TEXT keeps existing rows as plain UTF-8 but copies the table and blocks its
+ * writes, so startup refuses to run on TEXT columns unless
+ * {@code blog.compression.migration.alter-columns-on-startup} allows it. A scheduled job then rewrites
+ * rows in id order, a few batches per run, whenever they are not yet compressed with the active
+ * dictionary. Rows are updated only if unchanged since they were read, so a concurrent edit wins.
+ */
+@Component
+@Slf4j
+public class BodyCompressionMigrator implements SmartInitializingSingleton {
+
+    private static final List<String> TABLES = List.of("articles", "comments");
+    private static final int SAMPLE_RUN = 16;
+    private static final int MAX_SAMPLE_PROBES = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BodyCodec bodyCodec;
+    private final boolean enabled;
+    private final boolean alterColumnsOnStartup;
+    private final int batchSize;
+    private final int batchesPerRun;
+    private final int dictionaryBytes;
+    private final long sampleBytes;
+
+    // last id rewritten per table; a table is absent once its pass has finished
+    private final Map<String, Long> cursors = new ConcurrentHashMap<>();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final LongAdder rowsRewritten = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    public BodyCompressionMigrator(JdbcTemplate jdbcTemplate, BodyCodec bodyCodec,
+                                   @Value("${blog.compression.migration.enabled:true}") boolean enabled,
+                                   @Value("${blog.compression.migration.alter-columns-on-startup:false}") boolean alterColumnsOnStartup,
+                                   @Value("${blog.compression.migration.batch-size:500}") int batchSize,
+                                   @Value("${blog.compression.migration.batches-per-run:20}") int batchesPerRun,
+                                   @Value("${blog.compression.dictionary-bytes:32768}") int dictionaryBytes,
+                                   @Value("${blog.compression.training.sample-bytes:8388608}") long sampleBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bodyCodec = bodyCodec;
+        this.enabled = enabled;
+        this.alterColumnsOnStartup = alterColumnsOnStartup;
+        this.batchSize = batchSize;
+        this.batchesPerRun = batchesPerRun;
+        this.dictionaryBytes = dictionaryBytes;
+        this.sampleBytes = sampleBytes;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        checkColumns();
+        restart();
+    }
+
+    // ddl-auto never changes a column type, and compressed bodies are not valid text
+    private void checkColumns() {
+        List<String> textColumns = jdbcTemplate.queryForList("""
+                SELECT TABLE_NAME FROM information_schema.COLUMNS
+                WHERE TABLE_SCHEMA = DATABASE() AND COLUMN_NAME = 'content'
+                  AND TABLE_NAME IN ('articles', 'comments') AND DATA_TYPE <> 'longblob'
+                """, String.class);
+        if (textColumns.isEmpty()) {
+            return;
+        }
+        if (!alterColumnsOnStartup) {
+            throw new IllegalStateException("The content column of " + String.join(", ", textColumns)
+                    + " is still TEXT and cannot store compressed bodies. In a maintenance window run"
+                    + " ALTER TABLE <table> MODIFY content LONGBLOB NOT NULL for each of them (MySQL copies the table"
+                    + " and blocks its writes meanwhile), or set blog.compression.migration.alter-columns-on-startup=true"
+                    + " to have startup run it");
+        }
+        for (String table : textColumns) {
+            log.info("Converting {}.content to LONGBLOB for compressed storage, writes to {} block until it finishes", table, table);
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY content LONGBLOB NOT NULL");
+        }
+    }
+
+    public void restart() {
+        runLock.lock();
+        try {
+            TABLES.forEach(table -> cursors.put(table, 0L));
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.compression.migration.interval-ms:10000}")
+    public void migrate() {
+        if (!enabled || cursors.isEmpty() || !runLock.tryLock()) {
+            return;
+        }
+        try {
+            for (String table : TABLES) {
+                Long cursor = cursors.get(table);
+                for (int batch = 0; cursor != null && batch < batchesPerRun; batch++) {
+                    cursor = migrateBatch(table, cursor);
+                }
+                if (cursor != null) {
+                    cursors.put(table, cursor);
+                } else if (cursors.remove(table) != null) {
+                    log.info("Body compression pass over {} finished ({} rows rewritten so far, {} bytes saved)",
+                            table, rowsRewritten.sum(), bytesSaved.sum());
+                }
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    // Returns the id to continue after, or null once the table is exhausted
+    private Long migrateBatch(String table, long afterId) {
+        List<Object[]> rows = jdbcTemplate.query(
+                "SELECT id, content FROM " + table + " WHERE id > ? AND LEFT(content, 5) <> ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getBytes(2)},
+                afterId, bodyCodec.activePrefix(), batchSize);
+        List<Object[]> updates = new ArrayList<>();
+        long saved = 0;
+        for (Object[] row : rows) {
+            byte[] stored = (byte[]) row[1];
+            if (!BodyCodec.isCompressed(stored) && stored.length < bodyCodec.getMinBytes()) {
+                continue;
+            }
+            byte[] encoded = bodyCodec.encode(bodyCodec.decode(stored));
+            if (!Arrays.equals(encoded, stored)) {
+                updates.add(new Object[]{encoded, row[0], stored});
+                saved += stored.length - encoded.length;
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE " + table + " SET content = ? WHERE id = ? AND content = ?", updates);
+            rowsRewritten.add(updates.size());
+            bytesSaved.add(saved);
+            log.debug("Rewrote {} {} bodies after id {}, {} bytes saved", updates.size(), table, afterId, saved);
+        }
+        return rows.size() < batchSize ? null : (Long) rows.get(rows.size() - 1)[0];
+    }
+
+    public CompressionStatusResponse trainDictionary() {
+        List<byte[]> samples = sampleBodies();
+        if (samples.isEmpty()) {
+            throw new BadRequestException("There are no article or comment bodies to train a dictionary on");
+        }
+        long start = System.currentTimeMillis();
+        byte[] dictionary = DictionaryTrainer.train(samples, dictionaryBytes);
+        long totalSampleBytes = samples.stream().mapToLong(sample -> sample.length).sum();
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO compression_dictionaries (content, sample_count, sample_bytes, created_on) VALUES (?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS);
+            statement.setBytes(1, dictionary);
+            statement.setInt(2, samples.size());
+            statement.setLong(3, totalSampleBytes);
+            statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            return statement;
+        }, keyHolder);
+        int dictionaryId = keyHolder.getKey().intValue();
+        log.info("Trained compression dictionary {} ({} bytes) from {} bodies ({} bytes) in {} ms",
+                dictionaryId, dictionary.length, samples.size(), totalSampleBytes, System.currentTimeMillis() - start);
+
+        bodyCodec.activate(dictionaryId);
+        restart();
+        return getStatus();
+    }
+
+    public CompressionStatusResponse getStatus() {
+        return CompressionStatusResponse.builder()
+                .dictionaryId(bodyCodec.getActiveDictionaryId())
+                .dictionaryBytes(bodyCodec.getActiveDictionarySize())
+                .tablesPendingMigration(TABLES.stream().filter(cursors::containsKey).toList())
+                .rowsRewritten(rowsRewritten.sum())
+                .bytesSaved(bytesSaved.sum())
+                .build();
+    }
+
+    // Short runs from random points in each table, so the sample spans old and recent bodies without a full scan
+    private List<byte[]> sampleBodies() {
+        List<byte[]> samples = new ArrayList<>();
+        long budget = sampleBytes / TABLES.size();
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            long taken = 0;
+            for (int probe = 0; maxId > 0 && taken < budget && probe < MAX_SAMPLE_PROBES; probe++) {
+                long from = ThreadLocalRandom.current().nextLong(maxId) + 1;
+                List<byte[]> run = jdbcTemplate.query("SELECT content FROM " + table + " WHERE id >= ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> rs.getBytes(1), from, SAMPLE_RUN);
+                for (byte[] stored : run) {
+                    byte[] body = bodyCodec.decode(stored).getBytes(StandardCharsets.UTF_8);
+                    samples.add(body);
+                    taken += body.length;
+                }
+            }
+        }
+        return samples;
+    }
+}
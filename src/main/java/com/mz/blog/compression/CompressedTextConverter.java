@@ -0,0 +1,25 @@
+package com.mz.blog.compression;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+// Instantiated through Spring's bean container, so Hibernate gets the shared codec and its dictionaries
+@Component
+@Converter
+@RequiredArgsConstructor
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    private final BodyCodec bodyCodec;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return bodyCodec.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return bodyCodec.decode(dbData);
+    }
+}
@@ -0,0 +1,186 @@
+package com.mz.blog.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Builds a preset dictionary from sample bodies by greedy segment cover: the corpus is cut into
+ * fixed-size segments, each scored by how many samples share its 8-byte substrings, and the best
+ * segments are taken until the dictionary is full, skipping substrings already covered. The
+ * highest scoring segment goes last, where deflate reaches it with the shortest distances.
+ */
+final class DictionaryTrainer {
+
+    // deflate cannot look further back than its 32 KiB window
+    static final int MAX_DICTIONARY_BYTES = 32 * 1024;
+
+    private static final int SEGMENT_BYTES = 64;
+    private static final int SHINGLE_BYTES = 8;
+    // 16 MiB of counting table whatever the sample size
+    private static final int TABLE_SLOTS = 1 << 20;
+
+    private DictionaryTrainer() {
+    }
+
+    static byte[] train(List<byte[]> samples, int dictionaryBytes) {
+        int capacity = Math.min(dictionaryBytes, MAX_DICTIONARY_BYTES);
+
+        // number of samples each substring appears in; one that only a single sample has helps no other body
+        long totalBytes = samples.stream().mapToLong(sample -> sample.length).sum();
+        ShingleCounts frequency = new ShingleCounts(totalBytes);
+        for (int s = 0; s < samples.size(); s++) {
+            byte[] sample = samples.get(s);
+            for (int i = 0; i + SHINGLE_BYTES <= sample.length; i++) {
+                frequency.add(shingle(sample, i), s);
+            }
+        }
+
+        PriorityQueue<Segment> candidates = new PriorityQueue<>((a, b) -> Long.compare(b.score, a.score));
+        for (byte[] sample : samples) {
+            for (int offset = 0; offset + SEGMENT_BYTES <= sample.length; offset += SEGMENT_BYTES) {
+                Segment segment = new Segment(sample, offset);
+                segment.score = segment.score(frequency, Set.of());
+                if (segment.score > 0) {
+                    candidates.add(segment);
+                }
+            }
+        }
+
+        // scores only drop as coverage grows, so a segment whose rescored value still leads can be taken as is
+        Set<Long> covered = new HashSet<>();
+        List<Segment> chosen = new ArrayList<>();
+        int size = 0;
+        while (size + SEGMENT_BYTES <= capacity && !candidates.isEmpty()) {
+            Segment best = candidates.poll();
+            long rescored = best.score(frequency, covered);
+            if (rescored <= 0) {
+                continue;
+            }
+            if (!candidates.isEmpty() && rescored < candidates.peek().score) {
+                best.score = rescored;
+                candidates.add(best);
+                continue;
+            }
+            for (int i = best.offset; i + SHINGLE_BYTES <= best.offset + SEGMENT_BYTES; i++) {
+                covered.add(shingle(best.sample, i));
+            }
+            chosen.add(best);
+            size += SEGMENT_BYTES;
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(size);
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            Segment segment = chosen.get(i);
+            dictionary.write(segment.sample, segment.offset, SEGMENT_BYTES);
+        }
+        return dictionary.toByteArray();
+    }
+
+    private static long shingle(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < SHINGLE_BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static final class Segment {
+
+        private final byte[] sample;
+        private final int offset;
+        private long score;
+
+        private Segment(byte[] sample, int offset) {
+            this.sample = sample;
+            this.offset = offset;
+        }
+
+        private long score(ShingleCounts frequency, Set<Long> covered) {
+            Set<Long> counted = new HashSet<>();
+            long total = 0;
+            for (int i = offset; i + SHINGLE_BYTES <= offset + SEGMENT_BYTES; i++) {
+                long shingle = shingle(sample, i);
+                int count = frequency.count(shingle);
+                if (count > 1 && !covered.contains(shingle) && counted.add(shingle)) {
+                    total += count;
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Fixed-size open-addressing table from shingle to the number of samples containing it. Shingles
+     * are admitted by hash at a rate that keeps the expected distinct count within the table, so the
+     * counts of admitted shingles are exact and the rest read as zero.
+     */
+    private static final class ShingleCounts {
+
+        private final long[] keys = new long[TABLE_SLOTS];
+        private final int[] counts = new int[TABLE_SLOTS];
+        // last sample counted per slot, so a shingle repeated within one sample counts once
+        private final int[] lastSample = new int[TABLE_SLOTS];
+        private final int maxEntries = TABLE_SLOTS / 4 * 3;
+        private final long admitAtMost;
+        private int size;
+
+        private ShingleCounts(long totalBytes) {
+            // every position is at most one distinct shingle, so the byte total bounds the distinct count
+            double rate = Math.min(1.0, (double) maxEntries / Math.max(1, totalBytes));
+            this.admitAtMost = rate >= 1.0 ? Long.MAX_VALUE : (long) (rate * Long.MAX_VALUE);
+        }
+
+        private void add(long shingle, int sample) {
+            long hash = mix(shingle);
+            if ((hash >>> 1) > admitAtMost) {
+                return;
+            }
+            int slot = (int) hash & (TABLE_SLOTS - 1);
+            while (counts[slot] != 0) {
+                if (keys[slot] == shingle) {
+                    if (lastSample[slot] != sample) {
+                        counts[slot]++;
+                        lastSample[slot] = sample;
+                    }
+                    return;
+                }
+                slot = (slot + 1) & (TABLE_SLOTS - 1);
+            }
+            if (size < maxEntries) {
+                keys[slot] = shingle;
+                counts[slot] = 1;
+                lastSample[slot] = sample;
+                size++;
+            }
+        }
+
+        private int count(long shingle) {
+            long hash = mix(shingle);
+            if ((hash >>> 1) > admitAtMost) {
+                return 0;
+            }
+            int slot = (int) hash & (TABLE_SLOTS - 1);
+            while (counts[slot] != 0) {
+                if (keys[slot] == shingle) {
+                    return counts[slot];
+                }
+                slot = (slot + 1) & (TABLE_SLOTS - 1);
+            }
+            return 0;
+        }
+
+        // MurmurHash3 finalizer, so neighbouring shingles spread over the table
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xFF51AFD7ED558CCDL;
+            value ^= value >>> 33;
+            value *= 0xC4CEB9FE1A85EC53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
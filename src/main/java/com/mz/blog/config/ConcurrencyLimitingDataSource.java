@@ -0,0 +1,123 @@
+package com.mz.blog.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps the number of connections checked out at once with a fair semaphore sized to the pool.
+ * With virtual threads there is no request thread limit any more, so excess callers park
+ * cheaply on the semaphore in arrival order instead of piling into the pool's own wait queue.
+ * The permit is returned when the connection is closed.
+ */
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMs;
+
+    public ConcurrencyLimitingDataSource(DataSource target, int maxConcurrency, long acquireTimeoutMs) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "No database permit available after " + acquireTimeoutMs + "ms, " + permits.getQueueLength() + " callers waiting");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new PermitReleasingHandler(connection));
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    private final class PermitReleasingHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
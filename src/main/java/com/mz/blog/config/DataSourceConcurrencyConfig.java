@@ -0,0 +1,56 @@
+package com.mz.blog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Enabled by blog.datasource.limit-concurrency, on by default in the "virtual" profile
+@Configuration
+@ConditionalOnProperty(name = "blog.datasource.limit-concurrency", havingValue = "true")
+@Slf4j
+public class DataSourceConcurrencyConfig {
+
+    // Hikari rejects connection timeouts below 250 ms
+    private static final long MIN_POOL_TIMEOUT_MS = 250;
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // the permit wait and the pool wait share the configured timeout; with one permit per
+                    // pooled connection a permit holder rarely waits on the pool, so the permit gets most of it
+                    long budget = hikari.getConnectionTimeout();
+                    long poolTimeout = Math.max(MIN_POOL_TIMEOUT_MS, budget / 4);
+                    hikari.setConnectionTimeout(poolTimeout);
+                    log.info("Limiting concurrent database access to {} connections, waiting at most {} ms for a permit and {} ms for the pool",
+                            hikari.getMaximumPoolSize(), budget - poolTimeout, poolTimeout);
+                    return new ConcurrencyLimitingDataSource(hikari, hikari.getMaximumPoolSize(), Math.max(0, budget - poolTimeout));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder dataSourcePermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                Gauge.builder("blog.datasource.permits.available", limited, ConcurrencyLimitingDataSource::getAvailablePermits)
+                        .description("Database permits not currently held")
+                        .register(registry);
+                Gauge.builder("blog.datasource.permits.waiting", limited, ConcurrencyLimitingDataSource::getQueueLength)
+                        .description("Callers parked waiting for a database permit")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.mz.blog.config;
+
+import com.mz.blog.entity.IdSequences;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the table-backed id generators past the ids already present, e.g. rows written while the
+ * tables were still on IDENTITY. Runs before the web server starts, so before the first insert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Map<String, String> ENTITY_TABLES = Map.of(
+            IdSequences.ARTICLES, "articles",
+            IdSequences.COMMENTS, "comments");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alignWithExistingRows();
+    }
+
+    public void alignWithExistingRows() {
+        ENTITY_TABLES.forEach((sequence, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // the pooled optimizer hands out (next_val - allocationSize, next_val], so the floor leaves room for one block
+            long floor = maxId + IdSequences.ALLOCATION_SIZE;
+            int updated = jdbcTemplate.update(
+                    "UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN + " = ? WHERE "
+                            + IdSequences.NAME_COLUMN + " = ? AND " + IdSequences.VALUE_COLUMN + " < ?",
+                    floor, sequence, floor);
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + IdSequences.TABLE + " WHERE " + IdSequences.NAME_COLUMN + " = ?",
+                    Integer.class, sequence);
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", "
+                        + IdSequences.VALUE_COLUMN + ") VALUES (?, ?)", sequence, floor);
+                updated = 1;
+            }
+            if (updated > 0) {
+                log.info("Id sequence {} moved to {} (max existing id {})", sequence, floor, maxId);
+            }
+        });
+    }
+}
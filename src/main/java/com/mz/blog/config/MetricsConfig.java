@@ -0,0 +1,40 @@
+package com.mz.blog.config;
+
+import com.mz.blog.metrics.QueryCountFilter;
+import com.mz.blog.metrics.StatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    // Backs the class-level @Timed on the services
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        StatementCounter statementCounter = new StatementCounter();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${blog.sql.statement-count-header:false}") boolean exposeHeader,
+            @Value("${blog.sql.repeat-threshold:5}") int repeatThreshold) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry, exposeHeader, repeatThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
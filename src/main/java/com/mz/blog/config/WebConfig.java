@@ -0,0 +1,29 @@
+package com.mz.blog.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class WebConfig {
+
+    // Weak ETags for listings, computed from the rendered body. Detail endpoints set their own weak ETag from the article row.
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listingEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(
+                "/api/articles",
+                "/api/articles/status/*",
+                "/api/articles/author/*",
+                "/api/articles/category/*",
+                "/api/articles/search",
+                "/api/articles/trending",
+                "/api/authors",
+                "/api/categories",
+                "/api/comments/article/*");
+        return registration;
+    }
+}
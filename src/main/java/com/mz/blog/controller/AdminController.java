@@ -0,0 +1,66 @@
+package com.mz.blog.controller;
+
+import com.mz.blog.compression.BodyCompressionMigrator;
+import com.mz.blog.dto.response.CacheStatsResponse;
+import com.mz.blog.dto.response.CompressionStatusResponse;
+import com.mz.blog.dto.response.CounterReconcileResponse;
+import com.mz.blog.service.ArticleService;
+import com.mz.blog.service.CommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Administration", description = "Maintenance operations for operators")
+public class AdminController {
+
+    private final ArticleService articleService;
+    private final CommentService commentService;
+    private final BodyCompressionMigrator bodyCompressionMigrator;
+
+    @PostMapping("/comment-counters/reconcile")
+    @Operation(summary = "Reconcile comment counters", description = "Recomputes drifted article comment counters from the comments table")
+    public ResponseEntity<CounterReconcileResponse> reconcileCommentCounters(){
+        log.info("Reconciling article comment counters");
+        CounterReconcileResponse response = commentService.reconcileCommentCounters();
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/caches/article-details")
+    @Operation(summary = "Article cache statistics", description = "Hit, miss, eviction and coalesced load counts of the article detail cache")
+    public ResponseEntity<CacheStatsResponse> getArticleCacheStats(){
+        log.info("Getting article cache statistics");
+        return ResponseEntity.ok(articleService.getArticleCacheStats());
+    }
+
+    @GetMapping("/compression")
+    @Operation(summary = "Body compression status", description = "Active dictionary and progress of the background migration")
+    public ResponseEntity<CompressionStatusResponse> getCompressionStatus(){
+        log.info("Getting body compression status");
+        return ResponseEntity.ok(bodyCompressionMigrator.getStatus());
+    }
+
+    @PostMapping("/compression/dictionary")
+    @Operation(summary = "Train a compression dictionary", description = "Trains a dictionary on sampled bodies, activates it and recompresses existing rows in the background")
+    public ResponseEntity<CompressionStatusResponse> trainCompressionDictionary(){
+        log.info("Training a body compression dictionary");
+        return ResponseEntity.ok(bodyCompressionMigrator.trainDictionary());
+    }
+
+    @PostMapping("/compression/migrate")
+    @Operation(summary = "Restart the compression migration", description = "Rescans article and comment bodies and rewrites those not stored in the current format")
+    public ResponseEntity<CompressionStatusResponse> restartCompressionMigration(){
+        log.info("Restarting the body compression migration");
+        bodyCompressionMigrator.restart();
+        return ResponseEntity.accepted().body(bodyCompressionMigrator.getStatus());
+    }
+}
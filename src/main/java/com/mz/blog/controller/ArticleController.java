@@ -1,19 +1,29 @@
 package com.mz.blog.controller;
 
+import com.mz.blog.dto.request.BulkCreateArticlesRequest;
 import com.mz.blog.dto.request.CreateArticleRequest;
 import com.mz.blog.dto.request.UpdateArticleRequest;
 import com.mz.blog.dto.response.ArticleDetailResponse;
 import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.BulkCreateResponse;
+import com.mz.blog.dto.response.CursorPageResponse;
 import com.mz.blog.dto.response.PageResponse;
+import com.mz.blog.dto.response.TrendingArticleResponse;
 import com.mz.blog.entity.ArticleStatus;
+import com.mz.blog.search.SearchSort;
+import com.mz.blog.service.ArticleETag;
 import com.mz.blog.service.ArticleService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/articles")
@@ -31,20 +41,44 @@ public class ArticleController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResponse<ArticleResponse>> createArticles(@Valid @RequestBody BulkCreateArticlesRequest request){
+        log.info("Bulk creating {} articles", request.getArticles().size());
+        BulkCreateResponse<ArticleResponse> response = articleService.createArticles(request.getArticles());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ArticleDetailResponse> getArticleById(@PathVariable Long id){
+    public ResponseEntity<ArticleDetailResponse> getArticleById(@PathVariable Long id,
+                                                        @RequestParam(defaultValue = "10") int comments,
+                                                        WebRequest webRequest){
         log.info("Getting article by id: {}", id);
-        ArticleDetailResponse response = articleService.getArticleById(id);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = articleService.getArticleETag(id, comments);
+            if (webRequest.checkNotModified(eTag)) {
+                articleService.incrementViewCount(id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        ArticleDetailResponse response = articleService.getArticleById(id, comments);
         articleService.incrementViewCount(id);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(ArticleETag.of(response, comments)).body(response);
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ArticleDetailResponse> getArticleBySlug(@PathVariable String slug){
+    public ResponseEntity<ArticleDetailResponse> getArticleBySlug(@PathVariable String slug,
+                                                          @RequestParam(defaultValue = "10") int comments,
+                                                          WebRequest webRequest){
         log.info("Getting article by slug: {}", slug);
-        ArticleDetailResponse response = articleService.getArticleBySlug(slug);
-        return ResponseEntity.ok(response);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String eTag = articleService.getArticleETagBySlug(slug, comments);
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        ArticleDetailResponse response = articleService.getArticleBySlug(slug, comments);
+        return ResponseEntity.ok().eTag(ArticleETag.of(response, comments)).body(response);
     }
 
     @GetMapping
@@ -52,10 +86,21 @@ public class ArticleController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "title") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting all articles - page: {}, size: {}",page,size);
-        PageResponse<ArticleResponse> response = articleService.getAllArticles(page, size, sortBy, sortDir);
+        PageResponse<ArticleResponse> response = articleService.getAllArticles(page, size, sortBy, sortDir, withTotal);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> getAllArticlesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        log.info("Getting all articles by cursor - size: {}",size);
+        CursorPageResponse<ArticleResponse> response = articleService.getAllArticlesByCursor(cursor, size);
         return ResponseEntity.ok(response);
     }
 
@@ -63,46 +108,93 @@ public class ArticleController {
     public ResponseEntity<PageResponse<ArticleResponse>> getArticlesByStatus(
             @PathVariable ArticleStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting all articles by status - page: {}, size: {}",page,size);
-        PageResponse<ArticleResponse> response = articleService.getArticlesByStatus(status,page,size);
+        PageResponse<ArticleResponse> response = articleService.getArticlesByStatus(status,page,size,withTotal);
         return ResponseEntity.ok(response);
 
     }
 
+    @GetMapping(value = "/status/{status}", params = "cursor")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> getArticlesByStatusByCursor(
+            @PathVariable ArticleStatus status,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        log.info("Getting all articles by status by cursor - size: {}",size);
+        CursorPageResponse<ArticleResponse> response = articleService.getArticlesByStatusByCursor(status,cursor,size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/author/{authorId}")
     public ResponseEntity<PageResponse<ArticleResponse>> getArticlesByAuthor(
             @PathVariable Long authorId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting all articles by author - page: {}, size: {}",page,size);
-        PageResponse<ArticleResponse> response = articleService.getArticlesByAuthor(authorId,page,size);
+        PageResponse<ArticleResponse> response = articleService.getArticlesByAuthor(authorId,page,size,withTotal);
         return ResponseEntity.ok(response);
 
     }
 
+    @GetMapping(value = "/author/{authorId}", params = "cursor")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> getArticlesByAuthorByCursor(
+            @PathVariable Long authorId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        log.info("Getting all articles by author by cursor - size: {}",size);
+        CursorPageResponse<ArticleResponse> response = articleService.getArticlesByAuthorByCursor(authorId,cursor,size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<PageResponse<ArticleResponse>> getArticlesByCategory(
             @PathVariable Long categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting all articles by category - page: {}, size: {}",page,size);
-        PageResponse<ArticleResponse> response = articleService.getArticlesByCategory(categoryId,page,size);
+        PageResponse<ArticleResponse> response = articleService.getArticlesByCategory(categoryId,page,size,withTotal);
         return ResponseEntity.ok(response);
 
     }
 
+    @GetMapping(value = "/category/{categoryId}", params = "cursor")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> getArticlesByCategoryByCursor(
+            @PathVariable Long categoryId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        log.info("Getting all articles by category by cursor - size: {}",size);
+        CursorPageResponse<ArticleResponse> response = articleService.getArticlesByCategoryByCursor(categoryId,cursor,size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingArticleResponse>> getTrendingArticles(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "10") int limit
+    ){
+        log.info("Getting trending articles - category: {}, limit: {}",categoryId,limit);
+        List<TrendingArticleResponse> response = articleService.getTrendingArticles(categoryId,limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<PageResponse<ArticleResponse>> searchArticles(
             @RequestParam String keyword,
+            @RequestParam(defaultValue = "relevance") String sort,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size
     ){
         log.info("Searching articles with keyword: {} - page: {}, size: {}",keyword,page,size);
-        PageResponse<ArticleResponse> response = articleService.searchArticles(keyword,page,size);
+        PageResponse<ArticleResponse> response = articleService.searchArticles(keyword,SearchSort.from(sort),page,size);
 
         return ResponseEntity.ok(response);
 
@@ -45,10 +45,11 @@ public class AuthorController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Get All Authors - page: {}, size: {}", page, size);
-        PageResponse<AuthorResponse> response = authorService.getAllAuthors(page,size,sortBy,sortDir);
+        PageResponse<AuthorResponse> response = authorService.getAllAuthors(page,size,sortBy,sortDir,withTotal);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
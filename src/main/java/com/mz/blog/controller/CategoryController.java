@@ -43,10 +43,11 @@ public class CategoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting all categories - page: {}, size: {}",page,size);
-        PageResponse<CategoryResponse> response = categoryService.getAllCategories(page, size, sortBy, sortDir);
+        PageResponse<CategoryResponse> response = categoryService.getAllCategories(page, size, sortBy, sortDir, withTotal);
         return ResponseEntity.ok(response);
     }
 
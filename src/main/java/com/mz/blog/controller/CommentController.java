@@ -1,7 +1,12 @@
 package com.mz.blog.controller;
 
+import com.mz.blog.dto.request.BulkCreateCommentsRequest;
+import com.mz.blog.dto.request.CommentModerationRequest;
 import com.mz.blog.dto.request.CreateCommentRequest;
+import com.mz.blog.dto.response.BulkCreateResponse;
+import com.mz.blog.dto.response.CommentModerationResponse;
 import com.mz.blog.dto.response.CommentResponse;
+import com.mz.blog.dto.response.CursorPageResponse;
 import com.mz.blog.dto.response.PageResponse;
 import com.mz.blog.service.CommentService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +32,20 @@ public class CommentController {
         return new ResponseEntity<>(commentResponse, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResponse<CommentResponse>> createComments(@Valid @RequestBody BulkCreateCommentsRequest request){
+        log.info("Bulk creating {} comments", request.getComments().size());
+        BulkCreateResponse<CommentResponse> response = commentService.createComments(request.getComments());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/moderation")
+    public ResponseEntity<CommentModerationResponse> moderateComments(@Valid @RequestBody CommentModerationRequest request){
+        log.info("Moderating comments - action: {}", request.getAction());
+        CommentModerationResponse response = commentService.moderateComments(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id){
         log.info("Getting comment for article {}", id);
@@ -38,10 +57,22 @@ public class CommentController {
     public ResponseEntity<PageResponse<CommentResponse>> getCommentsByArticle(
             @PathVariable Long articleId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting comment for article {}", articleId);
-        PageResponse<CommentResponse> response = commentService.getCommentsByArticle(articleId, page, size);
+        PageResponse<CommentResponse> response = commentService.getCommentsByArticle(articleId, page, size, withTotal);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/article/{articleId}", params = "cursor")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentsByArticleByCursor(
+            @PathVariable Long articleId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        log.info("Getting comment for article {} by cursor", articleId);
+        CursorPageResponse<CommentResponse> response = commentService.getCommentsByArticleByCursor(articleId, cursor, size);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -49,10 +80,22 @@ public class CommentController {
     public ResponseEntity<PageResponse<CommentResponse>> getApprovedCommentsByArticle(
             @PathVariable Long articleId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
     ){
         log.info("Getting approved comment for article {}", articleId);
-        PageResponse<CommentResponse> response = commentService.getApprovedCommentsByArticle(articleId, page, size);
+        PageResponse<CommentResponse> response = commentService.getApprovedCommentsByArticle(articleId, page, size, withTotal);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/article/{articleId}/approved", params = "cursor")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getApprovedCommentsByArticleByCursor(
+            @PathVariable Long articleId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        log.info("Getting approved comment for article {} by cursor", articleId);
+        CursorPageResponse<CommentResponse> response = commentService.getApprovedCommentsByArticleByCursor(articleId, cursor, size);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
@@ -0,0 +1,57 @@
+package com.mz.blog.controller;
+
+import com.mz.blog.service.ExportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Streaming NDJSON exports")
+public class ExportController {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    @GetMapping("/articles")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting articles - updatedSince: {}, gzip: {}", updatedSince, gzip);
+        return stream(gzip, out -> exportService.exportArticles(out, updatedSince));
+    }
+
+    @GetMapping("/comments")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting comments - updatedSince: {}, gzip: {}", updatedSince, gzip);
+        return stream(gzip, out -> exportService.exportComments(out, updatedSince));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(boolean gzip, Consumer<OutputStream> export) {
+        StreamingResponseBody body = out -> export.accept(gzip ? new GZIPOutputStream(out, 8192) : out);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
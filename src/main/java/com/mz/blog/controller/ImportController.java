@@ -0,0 +1,42 @@
+package com.mz.blog.controller;
+
+import com.mz.blog.dto.response.ImportReport;
+import com.mz.blog.service.ImportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Import", description = "Streaming NDJSON imports")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @PostMapping("/articles")
+    public ResponseEntity<ImportReport> importArticles(
+            @RequestParam String jobId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        log.info("Importing articles - jobId: {}", jobId);
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 65536) : body;
+        ImportReport report = importService.importArticles(jobId, in);
+        return ResponseEntity.ok(report);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportReport> getImportStatus(@PathVariable String jobId) {
+        log.info("Getting import status for job {}", jobId);
+        ImportReport report = importService.getImportStatus(jobId);
+        return ResponseEntity.ok(report);
+    }
+}
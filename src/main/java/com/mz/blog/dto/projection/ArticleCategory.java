@@ -0,0 +1,14 @@
+package com.mz.blog.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleCategory {
+
+    private Long articleId;
+    private Long categoryId;
+}
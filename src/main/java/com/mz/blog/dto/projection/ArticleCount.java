@@ -0,0 +1,15 @@
+package com.mz.blog.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// number of articles per author or category id
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleCount {
+
+    private Long ownerId;
+    private Long articles;
+}
@@ -0,0 +1,19 @@
+package com.mz.blog.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleIndexSource {
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String content;
+    private LocalDateTime createdOn;
+}
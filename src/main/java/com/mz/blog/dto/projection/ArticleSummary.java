@@ -0,0 +1,33 @@
+package com.mz.blog.dto.projection;
+
+import com.mz.blog.entity.ArticleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSummary {
+
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private ArticleStatus status;
+
+    private Long authorId;
+    private String authorName;
+
+    private Long categoryId;
+    private String categoryName;
+
+    private Integer viewCount;
+    private Integer commentCount;
+    private Integer approvedCommentCount;
+    private LocalDateTime publishedOn;
+    private LocalDateTime createdOn;
+    private LocalDateTime updatedOn;
+}
@@ -0,0 +1,17 @@
+package com.mz.blog.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleVersion {
+
+    private Long id;
+    private Long version;
+    private LocalDateTime updatedOn;
+}
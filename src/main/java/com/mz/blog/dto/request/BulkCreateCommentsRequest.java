@@ -0,0 +1,18 @@
+package com.mz.blog.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// items are validated one by one by the service so a bad item fails alone
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkCreateCommentsRequest {
+
+    @NotEmpty(message = "At least one comment is required")
+    private List<CreateCommentRequest> comments;
+}
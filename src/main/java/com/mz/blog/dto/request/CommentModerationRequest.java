@@ -0,0 +1,33 @@
+package com.mz.blog.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// selectors are combined with AND; at least one of commentIds, articleId or olderThanDays is required
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentModerationRequest {
+
+    public enum Action { APPROVE, DELETE }
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    @Size(max = 10000, message = "At most 10000 comment ids per request")
+    private List<Long> commentIds;
+
+    private Long articleId;
+
+    // restricts to approved (true) or pending (false) comments; approving always targets pending ones
+    private Boolean approved;
+
+    @Positive(message = "olderThanDays must be positive")
+    private Integer olderThanDays;
+}
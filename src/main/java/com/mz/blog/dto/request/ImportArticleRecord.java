@@ -0,0 +1,39 @@
+package com.mz.blog.dto.request;
+
+import com.mz.blog.entity.ArticleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One NDJSON line of an article import. Author and category are referenced by email and name,
+ * and the article's comments travel with it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportArticleRecord {
+
+    private String title;
+    private String content;
+    private String excerpt;
+    private String authorEmail;
+    private String categoryName;
+    private ArticleStatus status;
+    private LocalDateTime publishedOn;
+    private List<Comment> comments;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Comment {
+
+        private String authorName;
+        private String authorEmail;
+        private String content;
+        private Boolean approved;
+    }
+}
@@ -1,5 +1,7 @@
 package com.mz.blog.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.mz.blog.entity.ArticleStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ArticleDetailResponse {
@@ -25,10 +27,19 @@ public class ArticleDetailResponse {
     private AuthorResponse author;
     private CategoryResponse category;
 
+    // newest approved comments only, left out when the request asked for none
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<CommentResponse> comments;
+    // continues the embedded comments on /api/comments/article/{id}/approved?cursor=...
+    private String commentsNextCursor;
+    private Integer commentCount;
+    private Integer approvedCommentCount;
 
     private Integer viewCount;
     private LocalDateTime publishedOn;
     private LocalDateTime createdOn;
     private LocalDateTime updatedOn;
+
+    @JsonIgnore
+    private Long version;
 }
@@ -0,0 +1,32 @@
+package com.mz.blog.dto.response;
+
+import com.mz.blog.entity.ArticleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleExportRecord {
+
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private String content;
+    private ArticleStatus status;
+    private Long authorId;
+    private Long categoryId;
+    private Integer viewCount;
+    private Integer commentCount;
+    private Integer approvedCommentCount;
+    private LocalDateTime publishedOn;
+    private LocalDateTime createdOn;
+    private LocalDateTime updatedOn;
+    private Long version;
+}
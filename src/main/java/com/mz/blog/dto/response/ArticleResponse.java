@@ -28,6 +28,7 @@ public class ArticleResponse {
 
     private Integer viewCount;
     private Integer commentCount;
+    private Integer approvedCommentCount;
     private LocalDateTime publishedOn;
     private LocalDateTime createdOn;
     private LocalDateTime updatedOn;
@@ -0,0 +1,31 @@
+package com.mz.blog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateResponse<T> {
+
+    private int requested;
+    private int created;
+    private int failed;
+    // one entry per request item, in request order
+    private List<BulkItemResult<T>> results;
+
+    public static <T> BulkCreateResponse<T> of(List<BulkItemResult<T>> results) {
+        int created = (int) results.stream().filter(result -> result.getStatus() == BulkItemResult.Status.CREATED).count();
+        return BulkCreateResponse.<T>builder()
+                .requested(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mz.blog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult<T> {
+
+    public enum Status { CREATED, FAILED }
+
+    private int index;
+    private Status status;
+    private T data;
+    private String error;
+
+    public static <T> BulkItemResult<T> created(int index, T data) {
+        return new BulkItemResult<>(index, Status.CREATED, data, null);
+    }
+
+    public static <T> BulkItemResult<T> failed(int index, String error) {
+        return new BulkItemResult<>(index, Status.FAILED, null, error);
+    }
+}
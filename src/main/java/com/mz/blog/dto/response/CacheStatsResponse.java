@@ -0,0 +1,27 @@
+package com.mz.blog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String name;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+    private long size;
+    private long weightedSize;
+    private long coalescedLoads;
+    // keys whose concurrent misses were coalesced most often, with their counts
+    private Map<String, Long> hotIds;
+    private Map<String, Long> hotSlugs;
+}
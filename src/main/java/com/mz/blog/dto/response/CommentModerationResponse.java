@@ -0,0 +1,21 @@
+package com.mz.blog.dto.response;
+
+import com.mz.blog.dto.request.CommentModerationRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentModerationResponse {
+
+    private CommentModerationRequest.Action action;
+    private long commentsAffected;
+    private int articlesAffected;
+    private LocalDateTime moderatedOn;
+}
@@ -0,0 +1,21 @@
+package com.mz.blog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompressionStatusResponse {
+
+    private int dictionaryId;
+    private int dictionaryBytes;
+    private List<String> tablesPendingMigration;
+    private long rowsRewritten;
+    private long bytesSaved;
+}
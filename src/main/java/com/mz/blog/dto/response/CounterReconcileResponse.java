@@ -0,0 +1,18 @@
+package com.mz.blog.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterReconcileResponse {
+
+    private int articlesUpdated;
+    private LocalDateTime reconciledOn;
+}
@@ -0,0 +1,40 @@
+package com.mz.blog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mz.blog.entity.ImportCheckpoint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportReport {
+
+    private String jobId;
+    private ImportCheckpoint.Status status;
+    private Long resumedFromLine;
+    private long linesProcessed;
+    private long articlesImported;
+    private long commentsImported;
+    private long failedRecords;
+    private Long elapsedMs;
+    private Double linesPerSecond;
+    private List<Failure> failures;
+    private LocalDateTime updatedOn;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Failure {
+
+        private long line;
+        private String error;
+    }
+}
@@ -1,10 +1,13 @@
 package com.mz.blog.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.mz.blog.entity.ArticleStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,8 +21,25 @@ public class PageResponse<T> {
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    // left out when the page was fetched as a Slice without a count query
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalElements;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalPages;
     private boolean last;
     private boolean first;
+
+    public static <T> PageResponse<T> from(Slice<?> slice, List<T> content) {
+        // totals are only known when a count query ran
+        Page<?> page = slice instanceof Page<?> counted ? counted : null;
+        return PageResponse.<T>builder()
+                .content(content)
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .totalElements(page != null ? page.getTotalElements() : null)
+                .totalPages(page != null ? page.getTotalPages() : null)
+                .last(slice.isLast())
+                .first(slice.isFirst())
+                .build();
+    }
 }
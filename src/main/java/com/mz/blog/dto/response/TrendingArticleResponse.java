@@ -0,0 +1,19 @@
+package com.mz.blog.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingArticleResponse {
+
+    @JsonUnwrapped
+    private ArticleResponse article;
+    // decayed activity, roughly recent views plus weighted comments
+    private double trendingScore;
+}
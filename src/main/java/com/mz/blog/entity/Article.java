@@ -1,6 +1,8 @@
 package com.mz.blog.entity;
+import com.mz.blog.compression.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -10,10 +12,12 @@ import java.util.List;
 
 @Entity
 @Table(name="articles" , indexes = {
-        @Index(name = "idx_author",columnList = "author_id"),
-        @Index(name = "idx_category",columnList = "category_id"),
-        @Index(name = "idx_status",columnList = "status"),
-        @Index(name = "idx_published",columnList = "published_on")
+        @Index(name = "idx_author_created",columnList = "author_id, created_on, id"),
+        @Index(name = "idx_category_created",columnList = "category_id, created_on, id"),
+        @Index(name = "idx_status_created",columnList = "status, created_on, id"),
+        @Index(name = "idx_created",columnList = "created_on, id"),
+        @Index(name = "idx_published",columnList = "published_on"),
+        @Index(name = "idx_updated",columnList = "updated_on, id")
 })
 @Data
 @AllArgsConstructor
@@ -21,7 +25,10 @@ import java.util.List;
 public class Article {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "article_ids")
+    @TableGenerator(name = "article_ids", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.ARTICLES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -30,7 +37,12 @@ public class Article {
     @Column(nullable = false,unique = true)
     private String slug;
 
-    @Column(nullable = false,columnDefinition = "TEXT")
+    // loaded on first access (bytecode enhanced), so entity queries do not drag the body along
+    @Basic(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false,columnDefinition = "LONGBLOB")
     private String content;
 
     private String excerpt;
@@ -50,9 +62,18 @@ public class Article {
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL,orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
-    @Column(name = "view_count")
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount=0;
 
+    // maintained with atomic SQL increments by CommentService, never written through the entity
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private Integer commentCount = 0;
+
+    @ColumnDefault("0")
+    @Column(name = "approved_comment_count", nullable = false, updatable = false)
+    private Integer approvedCommentCount = 0;
+
     @Column(name = "published_on")
     private LocalDateTime publishedOn;
 
@@ -64,9 +85,11 @@ public class Article {
     @Column(name = "updated_on")
     private LocalDateTime updatedOn;
 
-    public void incrementViewCount() {
-        this.viewCount++;
-    }
+    // feeds the article ETag; bumped in SQL by content edits and comment mutations, never by a flush,
+    // so it is not an optimistic lock and a comment arriving mid-edit cannot fail the edit
+    @ColumnDefault("0")
+    @Column(name = "etag_version", nullable = false, updatable = false)
+    private Long etagVersion = 0L;
 
     public void publish(){
         this.status=ArticleStatus.PUBLISHED;
@@ -1,5 +1,6 @@
 package com.mz.blog.entity;
 
+import com.mz.blog.compression.CompressedTextConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,8 +9,10 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "comments", indexes = {
-        @Index(name = "idx_article",columnList = "article_id"),
-        @Index(name = "idx_approved",columnList = "approved")
+        @Index(name = "idx_article_created",columnList = "article_id, created_on, id"),
+        @Index(name = "idx_article_approved_created",columnList = "article_id, approved, created_on, id"),
+        @Index(name = "idx_approved",columnList = "approved"),
+        @Index(name = "idx_created",columnList = "created_on, id")
 })
 @Data
 @NoArgsConstructor
@@ -17,7 +20,10 @@ import java.time.LocalDateTime;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_ids")
+    @TableGenerator(name = "comment_ids", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = IdSequences.COMMENTS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,7 +36,11 @@ public class Comment {
     @Column(name = "author_email",nullable = false)
     private String authorEmail;
 
-    @Column(nullable = false,columnDefinition = "TEXT")
+    // Eager on purpose, unlike Article.content: comment pages render every body, and a lazy attribute
+    // would load them one query per row. Every comment entity load therefore inflates its body,
+    // including loads that never read it (delete, approve).
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false,columnDefinition = "LONGBLOB")
     private String content;
 
     @Column(nullable = false)
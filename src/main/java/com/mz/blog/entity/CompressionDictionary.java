@@ -0,0 +1,35 @@
+package com.mz.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Preset deflate dictionary referenced by id from compressed bodies, so rows are never rewritten when it is retired.
+// Written and read over JDBC by BodyCodec and BodyCompressionMigrator.
+@Entity
+@Table(name = "compression_dictionaries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompressionDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @ToString.Exclude
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] content;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "sample_bytes", nullable = false)
+    private long sampleBytes;
+
+    @CreationTimestamp
+    @Column(name = "created_on", nullable = false, updatable = false)
+    private LocalDateTime createdOn;
+}
@@ -0,0 +1,19 @@
+package com.mz.blog.entity;
+
+/**
+ * Table-backed id generators for entities created in bulk. Unlike IDENTITY they let Hibernate
+ * batch inserts, handing out ids in blocks of {@link #ALLOCATION_SIZE}.
+ */
+public final class IdSequences {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String ARTICLES = "articles";
+    public static final String COMMENTS = "comments";
+
+    private IdSequences() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.mz.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Progress of a resumable import, advanced in the same transaction as each written chunk
+@Entity
+@Table(name = "import_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportCheckpoint {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(name = "job_id", length = 100)
+    private String jobId;
+
+    @Column(name = "lines_done", nullable = false)
+    private long linesDone;
+
+    @Column(name = "articles_imported", nullable = false)
+    private long articlesImported;
+
+    @Column(name = "comments_imported", nullable = false)
+    private long commentsImported;
+
+    @Column(name = "failed_records", nullable = false)
+    private long failedRecords;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.RUNNING;
+
+    @CreationTimestamp
+    @Column(name = "created_on", nullable = false, updatable = false)
+    private LocalDateTime createdOn;
+
+    @UpdateTimestamp
+    @Column(name = "updated_on")
+    private LocalDateTime updatedOn;
+
+    public ImportCheckpoint(String jobId) {
+        this.jobId = jobId;
+    }
+}
@@ -0,0 +1,26 @@
+package com.mz.blog.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Checkpointed trending score, relative to its own decay landmark. Written in bulk over JDBC by TrendingTracker.
+@Entity
+@Table(name = "trending_scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendingScore {
+
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private double score;
+
+    @Column(name = "landmark_ms", nullable = false)
+    private long landmarkMs;
+}
@@ -0,0 +1,45 @@
+package com.mz.blog.event;
+
+import com.mz.blog.entity.Article;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ArticleChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long articleId;
+    private final Long categoryId;
+    private final String slug;
+    private final String title;
+    private final String excerpt;
+    private final String content;
+    private final LocalDateTime createdOn;
+
+    public static ArticleChangedEvent created(Article article) {
+        return of(Type.CREATED, article);
+    }
+
+    public static ArticleChangedEvent updated(Article article) {
+        return of(Type.UPDATED, article);
+    }
+
+    public static ArticleChangedEvent deleted(Long articleId) {
+        return new ArticleChangedEvent(Type.DELETED, articleId, null, null, null, null, null, null);
+    }
+
+    private static ArticleChangedEvent of(Type type, Article article) {
+        return new ArticleChangedEvent(type, article.getId(), article.getCategory().getId(), article.getSlug(), article.getTitle(),
+                article.getExcerpt(), article.getContent(), article.getCreatedOn());
+    }
+}
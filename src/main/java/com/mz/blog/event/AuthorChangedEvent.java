@@ -0,0 +1,11 @@
+package com.mz.blog.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AuthorChangedEvent {
+
+    private final Long authorId;
+}
@@ -0,0 +1,17 @@
+package com.mz.blog.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private final Long articleId;
+    // comments created by this change, 0 for approvals and deletions
+    private final int commentsAdded;
+
+    public CommentChangedEvent(Long articleId) {
+        this(articleId, 0);
+    }
+}
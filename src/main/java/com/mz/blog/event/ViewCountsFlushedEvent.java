@@ -0,0 +1,14 @@
+package com.mz.blog.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+public class ViewCountsFlushedEvent {
+
+    // article id -> views written to articles.view_count by this flush
+    private final Map<Long, Long> deltas;
+}
@@ -1,12 +1,13 @@
 package com.mz.blog.exception;
 
+// An expected outcome answered with a 409, so no stack trace is captured
 public class DuplicateResourceException extends RuntimeException{
 
     public DuplicateResourceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public DuplicateResourceException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s already exists with %s: '%s'",resourceName,fieldName,fieldName,fieldValue));
+        this(String.format("%s already exists with %s: '%s'",resourceName,fieldName,fieldValue));
     }
 }
@@ -1,12 +1,13 @@
 package com.mz.blog.exception;
 
+// An expected outcome answered with a 404, so no stack trace is captured
 public class ResourceNotFoundException extends RuntimeException{
 
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public ResourceNotFoundException(String resourceName,String fieldName,Object fieldValue) {
-        super(String.format("%s not found with %s: '%s'",resourceName,fieldName,fieldName,fieldValue));
+        this(String.format("%s not found with %s: '%s'",resourceName,fieldName,fieldValue));
     }
 }
@@ -1,10 +1,13 @@
 package com.mz.blog.mapper;
 
+import com.mz.blog.dto.projection.ArticleSummary;
 import com.mz.blog.dto.request.CreateArticleRequest;
 import com.mz.blog.dto.request.CreateCommentRequest;
 import com.mz.blog.dto.request.UpdateArticleRequest;
 import com.mz.blog.dto.response.ArticleDetailResponse;
 import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.AuthorResponse;
+import com.mz.blog.dto.response.CategoryResponse;
 import com.mz.blog.dto.response.CommentResponse;
 import com.mz.blog.entity.*;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +29,6 @@ public class ArticleMapper {
     public Article toEntity(CreateArticleRequest request, Author author, Category category) {
        Article article = new Article();
        article.setTitle(request.getTitle());
-       article.setSlug(generateSlug(request.getTitle()));
        article.setContent(request.getContent());
        article.setExcerpt(request.getExcerpt());
        article.setAuthor(author);
@@ -40,7 +42,6 @@ public class ArticleMapper {
 
         if(request.getTitle() != null) {
             article.setTitle(request.getTitle());
-            article.setSlug(generateSlug(request.getTitle()));
         }
         if (request.getExcerpt() != null) {
             article.setExcerpt(request.getExcerpt());
@@ -73,15 +74,37 @@ public class ArticleMapper {
                 .categoryId(article.getCategory().getId())
                 .categoryName(article.getCategory().getName())
                 .viewCount(article.getViewCount())
-                .commentCount(article.getComments().size())
+                .commentCount(article.getCommentCount())
+                .approvedCommentCount(article.getApprovedCommentCount())
                 .publishedOn(article.getPublishedOn())
                 .createdOn(article.getCreatedOn())
                 .updatedOn(article.getUpdatedOn())
                 .build();
     }
 
-    public ArticleDetailResponse toDetailResponse(Article article) {
-        List<CommentResponse> comments = article.getComments()
+    public ArticleResponse toResponse(ArticleSummary summary) {
+        return ArticleResponse.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .slug(summary.getSlug())
+                .excerpt(summary.getExcerpt())
+                .status(summary.getStatus())
+                .authorId(summary.getAuthorId())
+                .authorName(summary.getAuthorName())
+                .categoryId(summary.getCategoryId())
+                .categoryName(summary.getCategoryName())
+                .viewCount(summary.getViewCount())
+                .commentCount(summary.getCommentCount())
+                .approvedCommentCount(summary.getApprovedCommentCount())
+                .publishedOn(summary.getPublishedOn())
+                .createdOn(summary.getCreatedOn())
+                .updatedOn(summary.getUpdatedOn())
+                .build();
+    }
+
+    public ArticleDetailResponse toDetailResponse(Article article, AuthorResponse author, CategoryResponse category,
+                                                  List<Comment> approvedComments) {
+        List<CommentResponse> comments = approvedComments
                 .stream()
                 .map(commentMapper::toResponse)
                 .collect(Collectors.toList());
@@ -92,21 +115,16 @@ public class ArticleMapper {
                 .content(article.getContent())
                 .excerpt(article.getExcerpt())
                 .status(article.getStatus())
-                .author(authorMapper.toResponse(article.getAuthor()))
-                .category(categoryMapper.toResponse(article.getCategory()))
+                .author(author)
+                .category(category)
                 .comments(comments)
+                .commentCount(article.getCommentCount())
+                .approvedCommentCount(article.getApprovedCommentCount())
                 .viewCount(article.getViewCount())
                 .publishedOn(article.getPublishedOn())
                 .createdOn(article.getCreatedOn())
                 .updatedOn(article.getUpdatedOn())
+                .version(article.getEtagVersion())
                 .build();
     }
-
-    private String generateSlug(String title) {
-        return title.toLowerCase()
-                .replaceAll("[^a-zA-Z0-9]", "")
-                .replaceAll("\\s+","-")
-                .replaceAll("-+", "-")
-        .trim();
-    }
 }
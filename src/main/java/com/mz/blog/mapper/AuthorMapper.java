@@ -29,13 +29,13 @@ public class AuthorMapper {
         }
     }
 
-    public AuthorResponse toResponse(Author author){
+    public AuthorResponse toResponse(Author author, long articleCount){
         return AuthorResponse.builder()
                 .id(author.getId())
                 .name(author.getName())
                 .email(author.getEmail())
                 .bio(author.getBio())
-                .articleCount((long) author.getArticles().size())
+                .articleCount(articleCount)
                 .createdOn(author.getCreatedOn())
                 .build();
     }
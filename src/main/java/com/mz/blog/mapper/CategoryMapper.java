@@ -20,12 +20,12 @@ public class CategoryMapper {
     }
 
 
-    public CategoryResponse toResponse(Category category){
+    public CategoryResponse toResponse(Category category, long articleCount){
         return CategoryResponse.builder()
                 .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
-                .articleCount((long) category.getArticles().size())
+                .articleCount(articleCount)
                 .createdOn(category.getCreatedOn())
                 .build();
     }
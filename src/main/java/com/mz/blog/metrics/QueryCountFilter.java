@@ -0,0 +1,96 @@
+package com.mz.blog.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each request issued. The total is recorded as the
+ * {@code blog.http.server.queries} distribution tagged with the matched route, optionally echoed
+ * in the {@value #HEADER} response header, and a warning is logged when one statement shape
+ * repeats more than the configured threshold, the usual sign of an N+1 access pattern.
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "blog.http.server.queries";
+    public static final String REPEATED_METRIC_NAME = "blog.http.server.queries.repeated";
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean exposeHeader;
+    private final int repeatThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, boolean exposeHeader, int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.exposeHeader = exposeHeader;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    // Exports write on an async thread and imports legitimately repeat one insert per batch, so neither is counted
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/api/export/") || path.startsWith("/api/import/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // the body is held back so the header can still be set once the count is final
+        HttpServletResponse target = exposeHeader ? new ContentCachingResponseWrapper(response) : response;
+        QueryStats stats = StatementCounter.start();
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            StatementCounter.stop(stats);
+            String route = route(request);
+            record(request.getMethod(), route, stats);
+            if (target instanceof ContentCachingResponseWrapper wrapper) {
+                wrapper.setHeader(HEADER, Long.toString(stats.getTotal()));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(String method, String route, QueryStats stats) {
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", route)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getTotal());
+
+        Map<String, Integer> repeated = stats.repeatedShapes(repeatThreshold);
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Counter.builder(REPEATED_METRIC_NAME)
+                .description("Requests that repeated one statement shape past the N+1 threshold")
+                .tag("method", method)
+                .tag("uri", route)
+                .register(meterRegistry)
+                .increment();
+        repeated.forEach((shape, count) ->
+                log.warn("Possible N+1: {} {} ran the same statement {} times ({} statements total): {}",
+                        method, route, count, stats.getTotal(), shape));
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
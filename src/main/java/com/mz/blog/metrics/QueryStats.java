@@ -0,0 +1,51 @@
+package com.mz.blog.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Statements issued within one {@link StatementCounter} scope, grouped by statement shape.
+ * Nested scopes also count towards their enclosing scope.
+ */
+public final class QueryStats {
+
+    private final QueryStats parent;
+    private final Map<String, Integer> countsByShape = new HashMap<>();
+    private long total;
+
+    QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    QueryStats getParent() {
+        return parent;
+    }
+
+    void record(String shape) {
+        total++;
+        countsByShape.merge(shape, 1, Integer::sum);
+        if (parent != null) {
+            parent.record(shape);
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Integer> getCountsByShape() {
+        return Collections.unmodifiableMap(countsByShape);
+    }
+
+    // Shapes executed more than threshold times, most repeated first
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsByShape.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
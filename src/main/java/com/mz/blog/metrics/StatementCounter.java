@@ -0,0 +1,50 @@
+package com.mz.blog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.regex.Pattern;
+
+/**
+ * Hibernate {@link StatementInspector} that records the SQL statements prepared on the current
+ * thread between {@link #start()} and {@link #stop(QueryStats)}. Statements outside a counted
+ * scope, such as scheduled jobs, are passed through untouched.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop(QueryStats stats) {
+        if (stats.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.getParent());
+        }
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    // Values are bound as parameters, so repeats of one statement differ only in layout and IN-list length
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(shape).replaceAll("(?)");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(shapeOf(sql));
+        }
+        return sql;
+    }
+}
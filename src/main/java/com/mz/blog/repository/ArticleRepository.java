@@ -1,32 +1,219 @@
 package com.mz.blog.repository;
 
+import com.mz.blog.dto.projection.ArticleCategory;
+import com.mz.blog.dto.projection.ArticleCount;
+import com.mz.blog.dto.projection.ArticleIndexSource;
+import com.mz.blog.dto.projection.ArticleSummary;
+import com.mz.blog.dto.projection.ArticleVersion;
+import com.mz.blog.dto.response.ArticleExportRecord;
 import com.mz.blog.entity.Article;
 import com.mz.blog.entity.ArticleStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    // Author and category are joined and comments counted in SQL so list pages never touch lazy relations
+    String SUMMARY_SELECT = """
+    select new com.mz.blog.dto.projection.ArticleSummary(
+        a.id, a.title, a.slug, a.excerpt, a.status,
+        au.id, au.name, c.id, c.name,
+        a.viewCount, a.commentCount, a.approvedCommentCount,
+        a.publishedOn, a.createdOn, a.updatedOn)
+    from Article a join a.author au join a.category c
+    """;
+
+    // Seek predicate for keyset pagination, served by the (..., created_on, id) indexes
+    String BEFORE_CURSOR = """
+     (a.createdOn < :createdOn or (a.createdOn = :createdOn and a.id < :id))
+     order by a.createdOn desc, a.id desc
+    """;
+
+    // The body is lazy on the entity, so exports select it in a projection instead of one load per row
+    String EXPORT_SELECT = """
+    select new com.mz.blog.dto.response.ArticleExportRecord(
+        a.id, a.title, a.slug, a.excerpt, a.content, a.status, a.author.id, a.category.id,
+        a.viewCount, a.commentCount, a.approvedCommentCount,
+        a.publishedOn, a.createdOn, a.updatedOn, a.etagVersion)
+    from Article a
+    """;
+
+    // Integer.MIN_VALUE makes Connector/J stream full scans row by row without a server-side cursor,
+    // leaving the fetch size of every other query alone; the connection runs nothing else until the stream is closed
+    String EXPORT_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
     Optional<Article> findBySlug(String slug);
+
+    @Query("select new com.mz.blog.dto.projection.ArticleVersion(a.id, a.etagVersion, a.updatedOn) from Article a where a.id = :id")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.mz.blog.dto.projection.ArticleVersion(a.id, a.etagVersion, a.updatedOn) from Article a where a.slug = :slug")
+    Optional<ArticleVersion> findVersionBySlug(@Param("slug") String slug);
+
     boolean existsBySlug(String slug);
 
-    Page<Article> findByStatus(ArticleStatus status, Pageable pageable);
+    long countByAuthorId(Long authorId);
+
+    @Query("select a.id from Article a where a.author.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
 
-    Page<Article> findByAuthorId(Long authorId, Pageable pageable);
+    long countByCategoryId(Long categoryId);
 
-    Page<Article> findByCategoryId(Long categoryId, Pageable pageable);
+    // Article totals for a page of authors or categories in one grouped query, served by the author/category indexes
+    @Query("select new com.mz.blog.dto.projection.ArticleCount(a.author.id, count(a)) from Article a where a.author.id in :authorIds group by a.author.id")
+    List<ArticleCount> countByAuthorIds(@Param("authorIds") Collection<Long> authorIds);
 
+    @Query("select new com.mz.blog.dto.projection.ArticleCount(a.category.id, count(a)) from Article a where a.category.id in :categoryIds group by a.category.id")
+    List<ArticleCount> countByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+
+    // Slugs are [a-z0-9-] only, so the prefix carries no LIKE wildcards
     @Query("""
-    select a from Article a where 
-        lower(a.title) like lower(concat('%',:keyword,'%'))
-        or lower(a.content) like lower(concat('%',:keyword,'%'))
+    select a.slug from Article a
+    where (a.slug = :slug or a.slug like concat(:slug, '-%'))
+      and (:excludeId is null or a.id <> :excludeId)
     """)
-    Page<Article> searchArticles(@Param("keyword") String keyword, Pageable pageable);
+    List<String> findSlugsWithPrefix(@Param("slug") String slug, @Param("excludeId") Long excludeId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a.slug from Article a")
+    Stream<String> streamSlugs();
+
+    @Query("select a.slug from Article a where a.slug in :slugs")
+    List<String> findSlugsIn(@Param("slugs") Collection<String> slugs);
+
+    @Query("select a.id from Article a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.mz.blog.dto.projection.ArticleCategory(a.id, a.category.id) from Article a where a.id in :ids")
+    List<ArticleCategory> findCategoryIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "select count(a) from Article a")
+    Page<ArticleSummary> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT)
+    Slice<ArticleSummary> findAllSummariesAsSlice(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " where a.status = :status",
+            countQuery = "select count(a) from Article a where a.status = :status")
+    Page<ArticleSummary> findSummariesByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where a.status = :status")
+    Slice<ArticleSummary> findSummariesByStatusAsSlice(@Param("status") ArticleStatus status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " where au.id = :authorId",
+            countQuery = "select count(a) from Article a where a.author.id = :authorId")
+    Page<ArticleSummary> findSummariesByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where au.id = :authorId")
+    Slice<ArticleSummary> findSummariesByAuthorIdAsSlice(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " where c.id = :categoryId",
+            countQuery = "select count(a) from Article a where a.category.id = :categoryId")
+    Page<ArticleSummary> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where c.id = :categoryId")
+    Slice<ArticleSummary> findSummariesByCategoryIdAsSlice(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " where" + BEFORE_CURSOR)
+    List<ArticleSummary> findSummariesBefore(@Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + " where a.status = :status and" + BEFORE_CURSOR)
+    List<ArticleSummary> findSummariesByStatusBefore(@Param("status") ArticleStatus status,
+                                                     @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + " where au.id = :authorId and" + BEFORE_CURSOR)
+    List<ArticleSummary> findSummariesByAuthorIdBefore(@Param("authorId") Long authorId,
+                                                       @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + " where c.id = :categoryId and" + BEFORE_CURSOR)
+    List<ArticleSummary> findSummariesByCategoryIdBefore(@Param("categoryId") Long categoryId,
+                                                         @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + " where a.id in :ids")
+    List<ArticleSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + " order by a.id")
+    Stream<ArticleExportRecord> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(EXPORT_SELECT + " where a.updatedOn >= :since order by a.updatedOn, a.id")
+    Stream<ArticleExportRecord> streamUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+    select new com.mz.blog.dto.projection.ArticleIndexSource(a.id, a.title, a.excerpt, a.content, a.createdOn)
+    from Article a where a.id > :afterId order by a.id
+    """)
+    List<ArticleIndexSource> findIndexSources(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+    update Article a set a.commentCount = a.commentCount + :totalDelta,
+        a.approvedCommentCount = a.approvedCommentCount + :approvedDelta,
+        a.etagVersion = a.etagVersion + 1
+    where a.id = :id
+    """)
+    int adjustCommentCounts(@Param("id") Long id, @Param("totalDelta") int totalDelta, @Param("approvedDelta") int approvedDelta);
+
+    @Modifying
+    @Query("update Article a set a.etagVersion = a.etagVersion + 1 where a.id = :id")
+    int bumpETagVersion(@Param("id") Long id);
+
+    // Recomputes both counters from the comments table, touching only rows that drifted
+    @Modifying
+    @Query(value = """
+    UPDATE articles a
+    LEFT JOIN (
+        SELECT article_id, COUNT(*) AS total, SUM(CASE WHEN approved THEN 1 ELSE 0 END) AS approved
+        FROM comments GROUP BY article_id
+    ) c ON c.article_id = a.id
+    SET a.comment_count = COALESCE(c.total, 0),
+        a.approved_comment_count = COALESCE(c.approved, 0),
+        a.etag_version = a.etag_version + 1
+    WHERE a.comment_count <> COALESCE(c.total, 0)
+       OR a.approved_comment_count <> COALESCE(c.approved, 0)
+    """, nativeQuery = true)
+    int reconcileCommentCounts();
+
+    // Same recount restricted to the given articles, used after set-based comment moderation
+    @Modifying
+    @Query(value = """
+    UPDATE articles a
+    LEFT JOIN (
+        SELECT article_id, COUNT(*) AS total, SUM(CASE WHEN approved THEN 1 ELSE 0 END) AS approved
+        FROM comments WHERE article_id IN (:ids) GROUP BY article_id
+    ) c ON c.article_id = a.id
+    SET a.comment_count = COALESCE(c.total, 0),
+        a.approved_comment_count = COALESCE(c.approved, 0),
+        a.etag_version = a.etag_version + 1
+    WHERE a.id IN (:ids)
+    """, nativeQuery = true)
+    int reconcileCommentCountsFor(@Param("ids") Collection<Long> ids);
 }
@@ -1,16 +1,67 @@
 package com.mz.blog.repository;
 
 import com.mz.blog.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+public interface CommentRepository extends JpaRepository<Comment, Long>, JpaSpecificationExecutor<Comment>, CommentRepositoryCustom {
 
     Page<Comment> findByArticleId(Long articleId, Pageable pageable);
     Page<Comment> findByArticleIdAndApproved(Long articleId, Boolean approved, Pageable pageable);
 
+    Slice<Comment> findSliceByArticleId(Long articleId, Pageable pageable);
+    Slice<Comment> findSliceByArticleIdAndApproved(Long articleId, Boolean approved, Pageable pageable);
+
     long countByArticleIdAndApproved(Long articleId, Boolean approved);
+
+    // Only the approval that flips the row reports 1, so concurrent approvals count it once
+    @Modifying
+    @Query("update Comment c set c.approved = true where c.id = :id and c.approved = false")
+    int approveIfPending(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ArticleRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Comment c order by c.id")
+    Stream<Comment> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ArticleRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Comment c where c.createdOn >= :since order by c.createdOn, c.id")
+    Stream<Comment> streamCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("""
+    select c from Comment c where c.article.id = :articleId
+        and (c.createdOn < :createdOn or (c.createdOn = :createdOn and c.id < :id))
+    order by c.createdOn desc, c.id desc
+    """)
+    List<Comment> findByArticleIdBefore(@Param("articleId") Long articleId,
+                                        @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
+
+    @Query("""
+    select c from Comment c where c.article.id = :articleId and c.approved = true
+        and (c.createdOn < :createdOn or (c.createdOn = :createdOn and c.id < :id))
+    order by c.createdOn desc, c.id desc
+    """)
+    List<Comment> findApprovedByArticleIdBefore(@Param("articleId") Long articleId,
+                                                @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,11 @@
+package com.mz.blog.repository;
+
+import com.mz.blog.entity.Comment;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+
+import java.util.List;
+
+public interface CommentRepositoryCustom {
+
+    List<Long> findArticleIds(PredicateSpecification<Comment> specification);
+}
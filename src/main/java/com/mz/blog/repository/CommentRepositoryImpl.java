@@ -0,0 +1,28 @@
+package com.mz.blog.repository;
+
+import com.mz.blog.entity.Comment;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+
+import java.util.List;
+
+class CommentRepositoryImpl implements CommentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findArticleIds(PredicateSpecification<Comment> specification) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Comment> comment = query.from(Comment.class);
+        query.select(comment.get("article").get("id"))
+                .distinct(true)
+                .where(specification.toPredicate(comment, builder));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
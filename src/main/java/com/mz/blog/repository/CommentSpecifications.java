@@ -0,0 +1,29 @@
+package com.mz.blog.repository;
+
+import com.mz.blog.entity.Comment;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public final class CommentSpecifications {
+
+    private CommentSpecifications() {
+    }
+
+    public static PredicateSpecification<Comment> idIn(Collection<Long> ids) {
+        return (comment, builder) -> comment.get("id").in(ids);
+    }
+
+    public static PredicateSpecification<Comment> articleId(Long articleId) {
+        return (comment, builder) -> builder.equal(comment.get("article").get("id"), articleId);
+    }
+
+    public static PredicateSpecification<Comment> approved(boolean approved) {
+        return (comment, builder) -> builder.equal(comment.get("approved"), approved);
+    }
+
+    public static PredicateSpecification<Comment> createdBefore(LocalDateTime createdOn) {
+        return (comment, builder) -> builder.lessThan(comment.<LocalDateTime>get("createdOn"), createdOn);
+    }
+}
@@ -0,0 +1,377 @@
+package com.mz.blog.search;
+
+import com.mz.blog.dto.projection.ArticleIndexSource;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.repository.ArticleRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over article title, excerpt and content ranked with BM25.
+ * Posting lists are kept sorted by document number in primitive arrays so conjunctive
+ * queries can be answered by probing the shorter lists with binary search.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int EXCERPT_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int BUILD_BATCH_SIZE = 500;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ArticleRepository articleRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term dictionary and posting lists, indexed by term id
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private int[][] postingDocs = new int[INITIAL_CAPACITY][];
+    private int[][] postingFreqs = new int[INITIAL_CAPACITY][];
+    private int[] postingSizes = new int[INITIAL_CAPACITY];
+
+    // per document state, indexed by document number
+    private final Map<Long, Integer> docsByArticle = new HashMap<>();
+    private long[] docArticleIds = new long[INITIAL_CAPACITY];
+    private long[] docCreatedOn = new long[INITIAL_CAPACITY];
+    private int[] docLengths = new int[INITIAL_CAPACITY];
+    private int[][] docTermIds = new int[INITIAL_CAPACITY][];
+    private int[] freeDocs = new int[16];
+    private int freeDocCount;
+    private int maxDoc;
+
+    private long totalLength;
+
+    private boolean building;
+    private final Set<Long> touchedDuringBuild = new HashSet<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Long> articleIds;
+        private final long totalHits;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            building = true;
+            touchedDuringBuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int indexed = 0;
+        try {
+            long afterId = 0;
+            List<ArticleIndexSource> batch;
+            do {
+                batch = articleRepository.findIndexSources(afterId, PageRequest.of(0, BUILD_BATCH_SIZE));
+                lock.writeLock().lock();
+                try {
+                    for (ArticleIndexSource source : batch) {
+                        // rows changed while we were scanning are already indexed from their events
+                        if (!touchedDuringBuild.contains(source.getId())) {
+                            indexInternal(source.getId(), source.getTitle(), source.getExcerpt(),
+                                    source.getContent(), source.getCreatedOn());
+                            indexed++;
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!batch.isEmpty()) {
+                    afterId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                touchedDuringBuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Built article search index with {} articles and {} terms in {} ms",
+                indexed, termIds.size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.getType() == ArticleChangedEvent.Type.DELETED) {
+            remove(event.getArticleId());
+        } else {
+            index(event.getArticleId(), event.getTitle(), event.getExcerpt(), event.getContent(), event.getCreatedOn());
+        }
+    }
+
+    public void index(Long articleId, String title, String excerpt, String content, LocalDateTime createdOn) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                touchedDuringBuild.add(articleId);
+            }
+            indexInternal(articleId, title, excerpt, content, createdOn);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                touchedDuringBuild.add(articleId);
+            }
+            removeInternal(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByArticle.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, SearchSort sort, long offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || offset < 0 || limit <= 0) {
+            return new SearchResult(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] queryTerms = new int[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                Integer termId = termIds.get(term);
+                if (termId == null || postingSizes[termId] == 0) {
+                    return new SearchResult(Collections.emptyList(), 0);
+                }
+                queryTerms[i++] = termId;
+            }
+            // drive the intersection from the rarest term
+            queryTerms = Arrays.stream(queryTerms).boxed()
+                    .sorted(Comparator.comparingInt(t -> postingSizes[t]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            int liveDocs = docsByArticle.size();
+            float avgLength = liveDocs == 0 ? 1f : (float) totalLength / liveDocs;
+            float[] idf = new float[queryTerms.length];
+            for (int t = 0; t < queryTerms.length; t++) {
+                int df = postingSizes[queryTerms[t]];
+                idf[t] = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+            }
+
+            int window = (int) Math.min(offset + limit, Integer.MAX_VALUE);
+            Comparator<Hit> ranking = sort == SearchSort.RECENT ? recentOrder() : relevanceOrder();
+            // min-heap on the ranking keeps only the best `window` hits
+            PriorityQueue<Hit> top = new PriorityQueue<>(ranking.reversed());
+            long totalHits = 0;
+
+            int driver = queryTerms[0];
+            int[] driverDocs = postingDocs[driver];
+            int[] driverFreqs = postingFreqs[driver];
+            for (int p = 0; p < postingSizes[driver]; p++) {
+                int doc = driverDocs[p];
+                float score = sort == SearchSort.RELEVANCE ? termScore(idf[0], driverFreqs[p], doc, avgLength) : 0f;
+                boolean matches = true;
+                for (int t = 1; t < queryTerms.length && matches; t++) {
+                    int term = queryTerms[t];
+                    int pos = Arrays.binarySearch(postingDocs[term], 0, postingSizes[term], doc);
+                    if (pos < 0) {
+                        matches = false;
+                    } else if (sort == SearchSort.RELEVANCE) {
+                        score += termScore(idf[t], postingFreqs[term][pos], doc, avgLength);
+                    }
+                }
+                if (!matches) {
+                    continue;
+                }
+                totalHits++;
+                Hit hit = new Hit(docArticleIds[doc], docCreatedOn[doc], score);
+                if (top.size() < window) {
+                    top.add(hit);
+                } else if (ranking.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(ranking);
+            int from = (int) Math.min(offset, ranked.size());
+            List<Long> articleIds = new ArrayList<>(ranked.size() - from);
+            for (int r = from; r < ranked.size(); r++) {
+                articleIds.add(ranked.get(r).articleId);
+            }
+            return new SearchResult(articleIds, totalHits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float termScore(float idf, int tf, int doc, float avgLength) {
+        float norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+        return idf * (tf * (K1 + 1)) / (tf + norm);
+    }
+
+    private void indexInternal(Long articleId, String title, String excerpt, String content, LocalDateTime createdOn) {
+        removeInternal(articleId);
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, title, TITLE_WEIGHT);
+        addTokens(frequencies, excerpt, EXCERPT_WEIGHT);
+        addTokens(frequencies, content, CONTENT_WEIGHT);
+
+        int doc = allocateDoc();
+        int[] terms = new int[frequencies.size()];
+        int length = 0;
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            int termId = termId(entry.getKey());
+            insertPosting(termId, doc, entry.getValue());
+            terms[i++] = termId;
+            length += entry.getValue();
+        }
+
+        docsByArticle.put(articleId, doc);
+        docArticleIds[doc] = articleId;
+        docCreatedOn[doc] = createdOn == null ? 0 : createdOn.toEpochSecond(ZoneOffset.UTC);
+        docLengths[doc] = length;
+        docTermIds[doc] = terms;
+        totalLength += length;
+    }
+
+    private void removeInternal(Long articleId) {
+        Integer doc = docsByArticle.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+        for (int termId : docTermIds[doc]) {
+            int size = postingSizes[termId];
+            int pos = Arrays.binarySearch(postingDocs[termId], 0, size, doc);
+            if (pos >= 0) {
+                System.arraycopy(postingDocs[termId], pos + 1, postingDocs[termId], pos, size - pos - 1);
+                System.arraycopy(postingFreqs[termId], pos + 1, postingFreqs[termId], pos, size - pos - 1);
+                postingSizes[termId] = size - 1;
+            }
+        }
+        totalLength -= docLengths[doc];
+        docTermIds[doc] = null;
+        docLengths[doc] = 0;
+
+        if (freeDocCount == freeDocs.length) {
+            freeDocs = Arrays.copyOf(freeDocs, freeDocs.length * 2);
+        }
+        freeDocs[freeDocCount++] = doc;
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private int allocateDoc() {
+        if (freeDocCount > 0) {
+            return freeDocs[--freeDocCount];
+        }
+        if (maxDoc == docArticleIds.length) {
+            int capacity = docArticleIds.length * 2;
+            docArticleIds = Arrays.copyOf(docArticleIds, capacity);
+            docCreatedOn = Arrays.copyOf(docCreatedOn, capacity);
+            docLengths = Arrays.copyOf(docLengths, capacity);
+            docTermIds = Arrays.copyOf(docTermIds, capacity);
+        }
+        return maxDoc++;
+    }
+
+    private int termId(String term) {
+        Integer existing = termIds.get(term);
+        if (existing != null) {
+            return existing;
+        }
+        int termId = termIds.size();
+        if (termId == postingDocs.length) {
+            int capacity = postingDocs.length * 2;
+            postingDocs = Arrays.copyOf(postingDocs, capacity);
+            postingFreqs = Arrays.copyOf(postingFreqs, capacity);
+            postingSizes = Arrays.copyOf(postingSizes, capacity);
+        }
+        postingDocs[termId] = new int[4];
+        postingFreqs[termId] = new int[4];
+        termIds.put(term, termId);
+        return termId;
+    }
+
+    private void insertPosting(int termId, int doc, int frequency) {
+        int size = postingSizes[termId];
+        if (size == postingDocs[termId].length) {
+            postingDocs[termId] = Arrays.copyOf(postingDocs[termId], size * 2);
+            postingFreqs[termId] = Arrays.copyOf(postingFreqs[termId], size * 2);
+        }
+        // reused document numbers can land anywhere, keep the list sorted
+        int pos = Arrays.binarySearch(postingDocs[termId], 0, size, doc);
+        int insertAt = pos < 0 ? -pos - 1 : pos;
+        System.arraycopy(postingDocs[termId], insertAt, postingDocs[termId], insertAt + 1, size - insertAt);
+        System.arraycopy(postingFreqs[termId], insertAt, postingFreqs[termId], insertAt + 1, size - insertAt);
+        postingDocs[termId][insertAt] = doc;
+        postingFreqs[termId][insertAt] = frequency;
+        postingSizes[termId] = size + 1;
+    }
+
+    private static Comparator<Hit> relevanceOrder() {
+        return Comparator.comparingDouble((Hit hit) -> hit.score).reversed()
+                .thenComparing(recentOrder());
+    }
+
+    private static Comparator<Hit> recentOrder() {
+        return Comparator.comparingLong((Hit hit) -> hit.createdOn).reversed()
+                .thenComparing(Comparator.comparingLong((Hit hit) -> hit.articleId).reversed());
+    }
+
+    @AllArgsConstructor
+    private static final class Hit {
+        private final long articleId;
+        private final long createdOn;
+        private final float score;
+    }
+}
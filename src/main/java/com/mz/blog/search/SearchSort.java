@@ -0,0 +1,18 @@
+package com.mz.blog.search;
+
+import com.mz.blog.exception.BadRequestException;
+
+public enum SearchSort {
+
+    RELEVANCE,
+    RECENT;
+
+    public static SearchSort from(String value) {
+        for (SearchSort sort : values()) {
+            if (sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new BadRequestException("Unsupported search sort: " + value + " (expected relevance or recent)");
+    }
+}
@@ -0,0 +1,43 @@
+package com.mz.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+final class Tokenizer {
+
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "that", "the", "this", "to", "was", "with");
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    String token = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(token)) {
+                        tokens.add(token);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
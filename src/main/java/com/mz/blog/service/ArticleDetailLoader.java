@@ -0,0 +1,72 @@
+package com.mz.blog.service;
+
+import com.mz.blog.dto.response.ArticleDetailResponse;
+import com.mz.blog.entity.Article;
+import com.mz.blog.entity.Comment;
+import com.mz.blog.exception.ResourceNotFoundException;
+import com.mz.blog.mapper.ArticleMapper;
+import com.mz.blog.mapper.AuthorMapper;
+import com.mz.blog.mapper.CategoryMapper;
+import com.mz.blog.repository.ArticleRepository;
+import com.mz.blog.repository.CommentRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Database side of the article detail read path. Kept apart from {@link ArticleService} so
+ * cache hits are served without opening a transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleDetailLoader {
+
+    private static final KeysetCursor FIRST_PAGE = KeysetCursor.decode(null);
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final ArticleMapper articleMapper;
+    private final AuthorMapper authorMapper;
+    private final CategoryMapper categoryMapper;
+
+    // upper bound of embedded comments; one extra is loaded so callers can tell whether more exist
+    @Getter
+    @Value("${blog.article.detail.max-comments:50}")
+    private int maxEmbeddedComments;
+
+    @Transactional(readOnly = true)
+    public ArticleDetailResponse loadById(Long id) {
+        log.info("Loading Article detail with ID: {}", id);
+
+        Article article = articleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Article","id",id));
+
+        return toDetailResponse(article);
+    }
+
+    @Transactional(readOnly = true)
+    public ArticleDetailResponse loadBySlug(String slug) {
+        log.info("Loading Article detail with slug: {}", slug);
+
+        Article article = articleRepository.findBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Article","slug",slug));
+
+        return toDetailResponse(article);
+    }
+
+    private ArticleDetailResponse toDetailResponse(Article article) {
+        List<Comment> approvedComments = commentRepository.findApprovedByArticleIdBefore(article.getId(),
+                FIRST_PAGE.getCreatedOn(), FIRST_PAGE.getId(), Limit.of(maxEmbeddedComments + 1));
+        return articleMapper.toDetailResponse(article,
+                authorMapper.toResponse(article.getAuthor(), articleRepository.countByAuthorId(article.getAuthor().getId())),
+                categoryMapper.toResponse(article.getCategory(), articleRepository.countByCategoryId(article.getCategory().getId())),
+                approvedComments);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mz.blog.service;
+
+import com.mz.blog.dto.projection.ArticleVersion;
+import com.mz.blog.dto.response.ArticleDetailResponse;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Weak entity tag of an article detail, built from the article row alone. The version is bumped
+ * by entity updates and by comment counter changes, and the requested comment window is part of
+ * the tag as it changes the body. The embedded author and category, their article counts and the
+ * live view count are not covered, so a revalidated body is equivalent rather than byte-identical.
+ */
+public final class ArticleETag {
+
+    private ArticleETag() {
+    }
+
+    public static String of(ArticleDetailResponse detail, int comments) {
+        return of(detail.getId(), detail.getVersion(), detail.getUpdatedOn(), comments);
+    }
+
+    public static String of(ArticleVersion version, int comments) {
+        return of(version.getId(), version.getVersion(), version.getUpdatedOn(), comments);
+    }
+
+    private static String of(Long id, Long version, LocalDateTime updatedOn, int comments) {
+        long updated = updatedOn == null ? 0 : updatedOn.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "W/\"" + id + "-" + (version == null ? 0 : version) + "-" + Long.toString(updated, 36) + "-c" + comments + "\"";
+    }
+}
@@ -1,36 +1,62 @@
 package com.mz.blog.service;
 
+import com.mz.blog.cache.ArticleDetailCache;
+import com.mz.blog.cache.NegativeLookupCache;
+import com.mz.blog.dto.projection.ArticleSummary;
 import com.mz.blog.dto.request.CreateArticleRequest;
 import com.mz.blog.dto.request.CreateCategoryRequest;
 import com.mz.blog.dto.request.UpdateArticleRequest;
 import com.mz.blog.dto.response.ArticleDetailResponse;
 import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.BulkCreateResponse;
+import com.mz.blog.dto.response.BulkItemResult;
+import com.mz.blog.dto.response.CacheStatsResponse;
 import com.mz.blog.dto.response.CategoryResponse;
+import com.mz.blog.dto.response.CommentResponse;
+import com.mz.blog.dto.response.CursorPageResponse;
 import com.mz.blog.dto.response.PageResponse;
+import com.mz.blog.dto.response.TrendingArticleResponse;
 import com.mz.blog.entity.Article;
 import com.mz.blog.entity.ArticleStatus;
 import com.mz.blog.entity.Author;
 import com.mz.blog.entity.Category;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.exception.BadRequestException;
 import com.mz.blog.exception.DuplicateResourceException;
 import com.mz.blog.exception.ResourceNotFoundException;
 import com.mz.blog.mapper.ArticleMapper;
 import com.mz.blog.mapper.CategoryMapper;
 import com.mz.blog.repository.ArticleRepository;
 import com.mz.blog.repository.CategoryRepository;
+import com.mz.blog.search.ArticleSearchIndex;
+import com.mz.blog.search.SearchSort;
+import com.mz.blog.trending.TrendingTracker;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "blog.service", histogram = true)
 @Slf4j
 public class ArticleService {
 
@@ -38,6 +64,15 @@ public class ArticleService {
     private final ArticleMapper articleMapper;
     private final AuthorService authorService;
     private final CategoryService categoryService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final TrendingTracker trendingTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArticleDetailCache articleDetailCache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final ArticleDetailLoader articleDetailLoader;
+    private final SlugGenerator slugGenerator;
+    private final BulkItemValidator bulkItemValidator;
 
     @Transactional
     public ArticleResponse createArticle(CreateArticleRequest request) {
@@ -47,50 +82,124 @@ public class ArticleService {
         Category category = categoryService.getCategoryEntityById(request.getCategoryId());
 
         Article article = articleMapper.toEntity(request,author,category);
-
-        if(articleRepository.existsBySlug(article.getSlug())){
-            throw new DuplicateResourceException("Article","slug",article.getSlug());
+        article.setSlug(slugGenerator.uniqueArticleSlug(request.getTitle(), null));
+
+        Article savedArticle;
+        try {
+            // flushed here so a slug taken concurrently surfaces as a duplicate, not as a failed commit
+            savedArticle = articleRepository.saveAndFlush(article);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateKeys.isDuplicateKey(e) ? new DuplicateResourceException("Article", "slug", article.getSlug()) : e;
         }
-
-        Article savedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(ArticleChangedEvent.created(savedArticle));
 
         log.info("Saved Article with ID: {}", savedArticle.getId());
         return articleMapper.toResponse(savedArticle);
     }
 
-    @Transactional(readOnly = true)
-    public ArticleDetailResponse getArticleById(Long id) {
+    @Transactional
+    public BulkCreateResponse<ArticleResponse> createArticles(List<CreateArticleRequest> requests) {
+        log.info("Bulk creating {} Articles", requests.size());
+        bulkItemValidator.checkSize(requests.size());
+
+        // authors and categories are resolved once for the whole batch
+        Map<Long, Author> authors = authorService.getAuthorEntitiesByIds(requests.stream()
+                .filter(Objects::nonNull).map(CreateArticleRequest::getAuthorId).filter(Objects::nonNull).collect(Collectors.toSet()));
+        Map<Long, Category> categories = categoryService.getCategoryEntitiesByIds(requests.stream()
+                .filter(Objects::nonNull).map(CreateArticleRequest::getCategoryId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        List<BulkItemResult<ArticleResponse>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<Integer> accepted = new ArrayList<>();
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateArticleRequest request = requests.get(i);
+            String error = bulkItemValidator.validate(request);
+            if (error == null && !authors.containsKey(request.getAuthorId())) {
+                error = new ResourceNotFoundException("Author","id",request.getAuthorId()).getMessage();
+            }
+            if (error == null && !categories.containsKey(request.getCategoryId())) {
+                error = new ResourceNotFoundException("Category","id",request.getCategoryId()).getMessage();
+            }
+            if (error != null) {
+                results.set(i, BulkItemResult.failed(i, error));
+                continue;
+            }
+            accepted.add(i);
+            articles.add(articleMapper.toEntity(request, authors.get(request.getAuthorId()), categories.get(request.getCategoryId())));
+        }
+
+        List<String> slugs = slugGenerator.uniqueArticleSlugs(articles.stream().map(Article::getTitle).toList());
+        for (int i = 0; i < articles.size(); i++) {
+            articles.get(i).setSlug(slugs.get(i));
+        }
+
+        // pooled table ids let Hibernate send these as JDBC batches
+        List<Article> savedArticles;
+        try {
+            savedArticles = articleRepository.saveAll(articles);
+            articleRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateKeys.isDuplicateKey(e)
+                    ? new DuplicateResourceException("An article slug in this batch was taken concurrently, retry the batch") : e;
+        }
+        for (int i = 0; i < savedArticles.size(); i++) {
+            Article savedArticle = savedArticles.get(i);
+            eventPublisher.publishEvent(ArticleChangedEvent.created(savedArticle));
+            results.set(accepted.get(i), BulkItemResult.created(accepted.get(i), articleMapper.toResponse(savedArticle)));
+        }
+
+        log.info("Bulk created {} of {} Articles", savedArticles.size(), requests.size());
+        return BulkCreateResponse.of(results);
+    }
+
+    public ArticleDetailResponse getArticleById(Long id, int comments) {
         log.info("Get Article with ID: {}", id);
+        int commentLimit = commentLimit(comments);
 
-        Article article = articleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Article","id",id));
+        ArticleDetailResponse article = negativeLookupCache.load("Article", "id", id,
+                () -> articleDetailCache.getById(id, articleDetailLoader::loadById));
 
-        return articleMapper.toDetailResponse(article);
+        return present(article, commentLimit);
     }
 
-    @Transactional(readOnly = true)
-    public ArticleDetailResponse getArticleBySlug(String slug) {
+    public ArticleDetailResponse getArticleBySlug(String slug, int comments) {
         log.info("Get Article with slug: {}", slug);
+        int commentLimit = commentLimit(comments);
 
-        Article article = articleRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Article","slug",slug));
+        ArticleDetailResponse article = negativeLookupCache.load("Article", "slug", slug,
+                () -> articleDetailCache.getBySlug(slug, articleDetailLoader::loadBySlug));
 
-        return articleMapper.toDetailResponse(article);
+        return present(article, commentLimit);
     }
 
-    @Transactional
-    public void incrementViewCount(Long id) {
-        log.info("Incrementing view count for article ID: {}", id);
+    // Cheap freshness probe for conditional GETs: the cached detail if present, otherwise a single-row version query
+    public String getArticleETag(Long id, int comments) {
+        ArticleDetailResponse cached = articleDetailCache.peek(id);
+        if (cached != null) {
+            return ArticleETag.of(cached, comments);
+        }
+        return ArticleETag.of(negativeLookupCache.find("Article", "id", id, () -> articleRepository.findVersionById(id)), comments);
+    }
 
-        Article article = articleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Article","id",id));
+    public String getArticleETagBySlug(String slug, int comments) {
+        ArticleDetailResponse cached = articleDetailCache.peekBySlug(slug);
+        if (cached != null) {
+            return ArticleETag.of(cached, comments);
+        }
+        return ArticleETag.of(negativeLookupCache.find("Article", "slug", slug, () -> articleRepository.findVersionBySlug(slug)), comments);
+    }
 
-        article.incrementViewCount();
-        articleRepository.save(article);
+    public CacheStatsResponse getArticleCacheStats() {
+        return articleDetailCache.stats();
+    }
+
+    public void incrementViewCount(Long id) {
+        log.info("Incrementing view count for article ID: {}", id);
+        viewCountBuffer.increment(id);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<ArticleResponse> getAllArticles(int page,int size,String sortBy,String sortDir){
+    public PageResponse<ArticleResponse> getAllArticles(int page,int size,String sortBy,String sortDir,boolean withTotal){
         log.info("Fetching all Articles - page: {}, size: {}", page, size);
 
         Sort sort = sortDir.equalsIgnoreCase("asc")
@@ -99,36 +208,42 @@ public class ArticleService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         // Fetch from DB
-        Page<Article> articlePage = articleRepository.findAll(pageable);
-        log.info("Found {} Articles", articlePage.getTotalElements());
+        Slice<ArticleSummary> articlePage = withTotal
+                ? articleRepository.findAllSummaries(pageable)
+                : articleRepository.findAllSummariesAsSlice(pageable);
+        log.info("Found {} Articles", articlePage.getNumberOfElements());
         //convert to DTO
         List<ArticleResponse> articleResponses = articlePage.getContent()
                 .stream()
                 .map(articleMapper::toResponse)
+                .map(this::withPendingViews)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(articlePage,articleResponses);
+        return PageResponse.from(articlePage,articleResponses);
     }
     @Transactional(readOnly = true)
-    public PageResponse<ArticleResponse> getArticlesByStatus(ArticleStatus status,int page, int size){
+    public PageResponse<ArticleResponse> getArticlesByStatus(ArticleStatus status,int page, int size, boolean withTotal){
         log.info("Fetching Articles by staus: {} - page: {}, size: {}",status, page, size);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
 
         // Fetch from DB
-        Page<Article> articlePage = articleRepository.findByStatus(status,pageable);
+        Slice<ArticleSummary> articlePage = withTotal
+                ? articleRepository.findSummariesByStatus(status,pageable)
+                : articleRepository.findSummariesByStatusAsSlice(status,pageable);
 
         //convert to DTO
         List<ArticleResponse> articleResponses = articlePage.getContent()
                 .stream()
                 .map(articleMapper::toResponse)
+                .map(this::withPendingViews)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(articlePage,articleResponses);
+        return PageResponse.from(articlePage,articleResponses);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<ArticleResponse> getArticlesByAuthor(Long authorId,int page, int size){
+    public PageResponse<ArticleResponse> getArticlesByAuthor(Long authorId,int page, int size, boolean withTotal){
         log.info("Fetching Articles by author id: {} - page: {}, size: {}",authorId, page, size);
 
         authorService.getAuthorEntityById(authorId);
@@ -136,19 +251,22 @@ public class ArticleService {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
 
         // Fetch from DB
-        Page<Article> articlePage = articleRepository.findByAuthorId(authorId,pageable);
+        Slice<ArticleSummary> articlePage = withTotal
+                ? articleRepository.findSummariesByAuthorId(authorId,pageable)
+                : articleRepository.findSummariesByAuthorIdAsSlice(authorId,pageable);
 
         //convert to DTO
         List<ArticleResponse> articleResponses = articlePage.getContent()
                 .stream()
                 .map(articleMapper::toResponse)
+                .map(this::withPendingViews)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(articlePage,articleResponses);
+        return PageResponse.from(articlePage,articleResponses);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<ArticleResponse> getArticlesByCategory(Long categoryId,int page, int size){
+    public PageResponse<ArticleResponse> getArticlesByCategory(Long categoryId,int page, int size, boolean withTotal){
         log.info("Fetching Articles by category id: {} - page: {}, size: {}",categoryId, page, size);
 
         categoryService.getCategoryEntityById(categoryId);
@@ -156,33 +274,138 @@ public class ArticleService {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
 
         // Fetch from DB
-        Page<Article> articlePage = articleRepository.findByCategoryId(categoryId,pageable);
+        Slice<ArticleSummary> articlePage = withTotal
+                ? articleRepository.findSummariesByCategoryId(categoryId,pageable)
+                : articleRepository.findSummariesByCategoryIdAsSlice(categoryId,pageable);
 
         //convert to DTO
         List<ArticleResponse> articleResponses = articlePage.getContent()
                 .stream()
                 .map(articleMapper::toResponse)
+                .map(this::withPendingViews)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(articlePage,articleResponses);
+        return PageResponse.from(articlePage,articleResponses);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<ArticleResponse> searchArticles(String keyword,int page, int size){
-        log.info("Searching Articles with keyword: {} - page: {}, size: {}",keyword, page, size);
+    public CursorPageResponse<ArticleResponse> getAllArticlesByCursor(String cursor, int size){
+        log.info("Fetching all Articles by cursor - size: {}", size);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
+        KeysetCursor.checkPageSize(size);
 
-        // Fetch from DB
-        Page<Article> articlePage = articleRepository.searchArticles(keyword,pageable);
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<ArticleSummary> rows = articleRepository.findSummariesBefore(
+                position.getCreatedOn(), position.getId(), Limit.of(size + 1));
 
-        //convert to DTO
-        List<ArticleResponse> articleResponses = articlePage.getContent()
+        return buildCursorResponse(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> getArticlesByStatusByCursor(ArticleStatus status, String cursor, int size){
+        log.info("Fetching Articles by status: {} by cursor - size: {}", status, size);
+
+        KeysetCursor.checkPageSize(size);
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<ArticleSummary> rows = articleRepository.findSummariesByStatusBefore(
+                status, position.getCreatedOn(), position.getId(), Limit.of(size + 1));
+
+        return buildCursorResponse(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> getArticlesByAuthorByCursor(Long authorId, String cursor, int size){
+        log.info("Fetching Articles by author id: {} by cursor - size: {}", authorId, size);
+
+        KeysetCursor.checkPageSize(size);
+
+        authorService.getAuthorEntityById(authorId);
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<ArticleSummary> rows = articleRepository.findSummariesByAuthorIdBefore(
+                authorId, position.getCreatedOn(), position.getId(), Limit.of(size + 1));
+
+        return buildCursorResponse(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> getArticlesByCategoryByCursor(Long categoryId, String cursor, int size){
+        log.info("Fetching Articles by category id: {} by cursor - size: {}", categoryId, size);
+
+        KeysetCursor.checkPageSize(size);
+
+        categoryService.getCategoryEntityById(categoryId);
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<ArticleSummary> rows = articleRepository.findSummariesByCategoryIdBefore(
+                categoryId, position.getCreatedOn(), position.getId(), Limit.of(size + 1));
+
+        return buildCursorResponse(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TrendingArticleResponse> getTrendingArticles(Long categoryId, int limit) {
+        log.info("Getting trending Articles - category: {}, limit: {}", categoryId, limit);
+        if (limit < 1 || limit > trendingTracker.getCapacity()) {
+            throw new BadRequestException("limit must be between 1 and " + trendingTracker.getCapacity());
+        }
+
+        // Ranked in memory, then only the ranked rows are loaded
+        List<TrendingTracker.Ranked> ranked = trendingTracker.top(categoryId, limit);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArticleSummary> summaries = articleRepository.findSummariesByIdIn(
+                        ranked.stream().map(TrendingTracker.Ranked::getArticleId).toList())
                 .stream()
-                .map(articleMapper::toResponse)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+        List<TrendingArticleResponse> trending = new ArrayList<>(ranked.size());
+        for (TrendingTracker.Ranked entry : ranked) {
+            ArticleSummary summary = summaries.get(entry.getArticleId());
+            if (summary == null) {
+                // removed without an event, e.g. through an author cascade
+                trendingTracker.remove(entry.getArticleId());
+                continue;
+            }
+            trending.add(TrendingArticleResponse.builder()
+                    .article(withPendingViews(articleMapper.toResponse(summary)))
+                    .trendingScore(entry.getScore())
+                    .build());
+        }
+        return trending;
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<ArticleResponse> searchArticles(String keyword, SearchSort sort, int page, int size){
+        log.info("Searching Articles with keyword: {} sort: {} - page: {}, size: {}",keyword, sort, page, size);
+
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+        KeysetCursor.checkPageSize(size);
+
+        // Rank in the in-memory index, then load only the requested page
+        ArticleSearchIndex.SearchResult result = articleSearchIndex.search(keyword, sort, (long) page * size, size);
+
+        List<ArticleResponse> articleResponses = new ArrayList<>();
+        if (!result.getArticleIds().isEmpty()) {
+            Map<Long, ArticleSummary> summaries = articleRepository.findSummariesByIdIn(result.getArticleIds())
+                    .stream()
+                    .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+            for (Long articleId : result.getArticleIds()) {
+                ArticleSummary summary = summaries.get(articleId);
+                if (summary == null) {
+                    // removed without an event, e.g. through an author cascade
+                    articleSearchIndex.remove(articleId);
+                    continue;
+                }
+                articleResponses.add(withPendingViews(articleMapper.toResponse(summary)));
+            }
+        }
 
-        return buildPageResponse(articlePage,articleResponses);
+        Page<ArticleResponse> articlePage = new PageImpl<>(articleResponses, PageRequest.of(page, size), result.getTotalHits());
+        return PageResponse.from(articlePage,articleResponses);
     }
 
     @Transactional
@@ -198,12 +421,18 @@ public class ArticleService {
         }
 
         articleMapper.updateEntity(article,request,category);
+        if (request.getTitle() != null) {
+            article.setSlug(slugGenerator.uniqueArticleSlug(request.getTitle(), id));
+        }
 
         Article updatedArticle = articleRepository.save(article);
+        articleRepository.bumpETagVersion(id);
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(updatedArticle));
         log.info("Updated Article with ID: {}", updatedArticle.getId());
-        return articleMapper.toResponse(updatedArticle);
+        return withPendingViews(articleMapper.toResponse(updatedArticle));
     }
 
+    @Transactional
     public ArticleResponse publishArticle(Long id){
         log.info("Publishing Article with ID: {}", id);
 
@@ -211,8 +440,10 @@ public class ArticleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Article","id",id));
         article.publish();
         Article publishedArticle = articleRepository.save(article);
+        articleRepository.bumpETagVersion(id);
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(publishedArticle));
         log.info("Published Article with ID: {}", publishedArticle.getId());
-        return articleMapper.toResponse(publishedArticle);
+        return withPendingViews(articleMapper.toResponse(publishedArticle));
     }
 
     @Transactional
@@ -222,18 +453,56 @@ public class ArticleService {
         Article article = articleRepository.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("Article", "id", id));
         articleRepository.delete(article);
+        eventPublisher.publishEvent(ArticleChangedEvent.deleted(id));
         log.info("Article Deleted successfully with ID: {}", id);
     }
 
-    private <T> PageResponse<T> buildPageResponse(Page<?> page, List<T> content) {
-        return PageResponse.<T>builder()
-                .content(content)
-                .pageNumber(page.getNumber())
-                .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .last(page.isLast())
-                .first(page.isFirst())
+    private ArticleResponse withPendingViews(ArticleResponse response) {
+        response.setViewCount(viewCountBuffer.withPending(response.getId(), response.getViewCount()));
+        return response;
+    }
+
+    private int commentLimit(int comments) {
+        if (comments < 0) {
+            throw new BadRequestException("comments must not be negative");
+        }
+        return Math.min(comments, articleDetailLoader.getMaxEmbeddedComments());
+    }
+
+    private ArticleDetailResponse present(ArticleDetailResponse cached, int commentLimit) {
+        // cached responses are shared, so pending views and the comment window go on a copy;
+        // the cache holds one comment more than the maximum window to tell whether more exist
+        List<CommentResponse> embedded = cached.getComments();
+        List<CommentResponse> comments = commentLimit == 0 ? null
+                : embedded.size() <= commentLimit ? embedded : embedded.subList(0, commentLimit);
+        String nextCursor = null;
+        if (comments != null && embedded.size() > comments.size()) {
+            CommentResponse last = comments.get(comments.size() - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedOn(), last.getId());
+        }
+        return cached.toBuilder()
+                .comments(comments)
+                .commentsNextCursor(nextCursor)
+                .viewCount(viewCountBuffer.withPending(cached.getId(), cached.getViewCount()))
+                .build();
+    }
+
+    private CursorPageResponse<ArticleResponse> buildCursorResponse(List<ArticleSummary> rows, int size) {
+        // one extra row was fetched to tell whether another page exists
+        boolean last = rows.size() <= size;
+        List<ArticleSummary> pageRows = last ? rows : rows.subList(0, size);
+
+        List<ArticleResponse> articleResponses = pageRows.stream()
+                .map(articleMapper::toResponse)
+                .map(this::withPendingViews)
+                .collect(Collectors.toList());
+
+        ArticleSummary lastRow = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+        return CursorPageResponse.<ArticleResponse>builder()
+                .content(articleResponses)
+                .pageSize(size)
+                .nextCursor(last ? null : KeysetCursor.encode(lastRow.getCreatedOn(), lastRow.getId()))
+                .last(last)
                 .build();
     }
 }
@@ -1,61 +1,78 @@
 package com.mz.blog.service;
 
+import com.mz.blog.cache.NegativeLookupCache;
+import com.mz.blog.cache.UniqueKeyFilters;
+import com.mz.blog.dto.projection.ArticleCount;
 import com.mz.blog.dto.request.CreateAuthorRequest;
 import com.mz.blog.dto.request.UpdateAuthorRequest;
 import com.mz.blog.dto.response.AuthorResponse;
 import com.mz.blog.dto.response.PageResponse;
 import com.mz.blog.entity.Author;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.event.AuthorChangedEvent;
 import com.mz.blog.exception.DuplicateResourceException;
 import com.mz.blog.exception.ResourceNotFoundException;
 import com.mz.blog.mapper.AuthorMapper;
+import com.mz.blog.repository.ArticleRepository;
 import com.mz.blog.repository.AuthorRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "blog.service", histogram = true)
 @Slf4j
 public class AuthorService {
 
     private final AuthorRepository authorRepository;
     private final AuthorMapper authorMapper;
+    private final ArticleRepository articleRepository;
+    private final NegativeLookupCache negativeLookupCache;
+    private final UniqueKeyFilters uniqueKeyFilters;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthorResponse createAuthor(CreateAuthorRequest request) {
         log.info("Creating Author with email: {}", request.getEmail());
 
-        if (authorRepository.existsByEmail(request.getEmail())) {
+        if (emailMightBeTaken(request.getEmail())) {
             throw new DuplicateResourceException("Author","email", request.getEmail());
         }
         Author author = authorMapper.toEntity(request);
 
-        Author savedAuthor = authorRepository.save(author);
+        Author savedAuthor = saveWithUniqueEmail(author);
+        negativeLookupCache.forgetAfterCommit("Author", "id", savedAuthor.getId());
         log.info("Author Created successfully with ID: {}", savedAuthor.getId());
 
-        return authorMapper.toResponse(savedAuthor);
+        return authorMapper.toResponse(savedAuthor, 0);
     }
 
     @Transactional(readOnly = true)
     public AuthorResponse getAuthorById(Long id) {
         log.info("Retrieving Author with ID: {}", id);
 
-        Author author = authorRepository.findById(id)
-                .orElseThrow(()-> new ResourceNotFoundException("Author", "id", id));
+        Author author = negativeLookupCache.find("Author", "id", id, () -> authorRepository.findById(id));
 
-        return authorMapper.toResponse(author);
+        return authorMapper.toResponse(author, articleRepository.countByAuthorId(id));
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<AuthorResponse> getAllAuthors(int page,int size,String sortBy,String sortDir){
+    public PageResponse<AuthorResponse> getAllAuthors(int page,int size,String sortBy,String sortDir,boolean withTotal){
         log.info("Retrieving all Authors - page: {}, size: {}", page, size);
 
         Sort sort = sortDir.equalsIgnoreCase("asc")
@@ -64,23 +81,20 @@ public class AuthorService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         // Fetch from DB
-        Page<Author> authorPage = authorRepository.findAll(pageable);
+        Slice<Author> authorPage = withTotal
+                ? authorRepository.findAll(pageable)
+                : authorRepository.findAllAsSlice(pageable);
+
+        // article totals for the whole page in one grouped count
+        Map<Long, Long> articleCounts = countArticles(authorPage.getContent());
 
         //convert to DTO
         List<AuthorResponse> authorResponses = authorPage.getContent()
                 .stream()
-                .map(authorMapper::toResponse)
+                .map(author -> authorMapper.toResponse(author, articleCounts.getOrDefault(author.getId(), 0L)))
                 .collect(Collectors.toList());
 
-        return PageResponse.<AuthorResponse>builder()
-                .content(authorResponses)
-                .pageNumber(authorPage.getNumber())
-                .pageSize(authorPage.getSize())
-                .totalElements(authorPage.getTotalElements())
-                .totalPages(authorPage.getTotalPages())
-                .last(authorPage.isLast())
-                .first(authorPage.isFirst())
-                .build();
+        return PageResponse.from(authorPage,authorResponses);
     }
 
     @Transactional
@@ -91,15 +105,16 @@ public class AuthorService {
                 .orElseThrow(()-> new ResourceNotFoundException("Author", "id", id));
 
         if(request.getEmail()!=null && !request.getEmail().equals(author.getEmail())) {
-            if(authorRepository.existsByEmail(request.getEmail())) {
+            if(emailMightBeTaken(request.getEmail())) {
                 throw new DuplicateResourceException("Author","email", request.getEmail());
             }
         }
         authorMapper.updateEntity(author, request);
 
-        Author updatedAuthor = authorRepository.save(author);
+        Author updatedAuthor = saveWithUniqueEmail(author);
+        eventPublisher.publishEvent(new AuthorChangedEvent(updatedAuthor.getId()));
         log.info("Author Updated successfully with ID: {}", updatedAuthor.getId());
-        return authorMapper.toResponse(updatedAuthor);
+        return authorMapper.toResponse(updatedAuthor, articleRepository.countByAuthorId(id));
     }
 
     @Transactional
@@ -108,7 +123,10 @@ public class AuthorService {
 
         Author author = authorRepository.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("Author", "id", id));
+        // the articles go with the author through the cascade, so announce each of them
+        List<Long> articleIds = articleRepository.findIdsByAuthorId(id);
         authorRepository.delete(author);
+        articleIds.forEach(articleId -> eventPublisher.publishEvent(ArticleChangedEvent.deleted(articleId)));
         log.info("Author Deleted successfully with ID: {}", id);
     }
     @Transactional(readOnly = true)
@@ -117,4 +135,35 @@ public class AuthorService {
         return authorRepository.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("Author", "id", id));
     }
+
+    public Map<Long, Author> getAuthorEntitiesByIds(Collection<Long> ids) {
+        log.info("Retrieving {} Authors by ID", ids.size());
+        return authorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Author::getId, Function.identity()));
+    }
+
+    private Map<Long, Long> countArticles(List<Author> authors) {
+        if (authors.isEmpty()) {
+            return Map.of();
+        }
+        return articleRepository.countByAuthorIds(authors.stream().map(Author::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(ArticleCount::getOwnerId, ArticleCount::getArticles));
+    }
+
+    // A definite miss in the email filter skips the query; the unique constraint still has the last word
+    private boolean emailMightBeTaken(String email) {
+        return uniqueKeyFilters.mightExist(UniqueKeyFilters.Key.AUTHOR_EMAIL, email) && authorRepository.existsByEmail(email);
+    }
+
+    private Author saveWithUniqueEmail(Author author) {
+        Author saved;
+        try {
+            saved = authorRepository.saveAndFlush(author);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateKeys.isDuplicateKey(e) ? new DuplicateResourceException("Author", "email", author.getEmail()) : e;
+        }
+        uniqueKeyFilters.add(UniqueKeyFilters.Key.AUTHOR_EMAIL, saved.getEmail());
+        return saved;
+    }
 }
@@ -0,0 +1,46 @@
+package com.mz.blog.service;
+
+import com.mz.blog.exception.BadRequestException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bean validation for the items of a bulk request, reported per item instead of failing the request.
+ */
+@Component
+public class BulkItemValidator {
+
+    private final Validator validator;
+    private final int maxItems;
+
+    public BulkItemValidator(Validator validator, @Value("${blog.bulk.max-items:1000}") int maxItems) {
+        this.validator = validator;
+        this.maxItems = maxItems;
+    }
+
+    public void checkSize(int items) {
+        if (items > maxItems) {
+            throw new BadRequestException("A bulk request can contain at most " + maxItems + " items");
+        }
+    }
+
+    // null when the item is valid, otherwise all violations as "field: message"
+    public String validate(Object item) {
+        if (item == null) {
+            return "Item is required";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -1,5 +1,7 @@
 package com.mz.blog.service;
 
+import com.mz.blog.cache.UniqueKeyFilters;
+import com.mz.blog.dto.projection.ArticleCount;
 import com.mz.blog.dto.request.CreateAuthorRequest;
 import com.mz.blog.dto.request.CreateCategoryRequest;
 import com.mz.blog.dto.request.UpdateAuthorRequest;
@@ -11,40 +13,57 @@ import com.mz.blog.entity.Category;
 import com.mz.blog.exception.DuplicateResourceException;
 import com.mz.blog.exception.ResourceNotFoundException;
 import com.mz.blog.mapper.CategoryMapper;
+import com.mz.blog.repository.ArticleRepository;
 import com.mz.blog.repository.CategoryRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "blog.service", histogram = true)
 @Slf4j
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final ArticleRepository articleRepository;
+    private final UniqueKeyFilters uniqueKeyFilters;
 
     @Transactional
     public CategoryResponse createCategory(CreateCategoryRequest request) {
         log.info("Create Category with name {}", request.getName());
 
-        if(categoryRepository.existsByName(request.getName())) {
+        // a definite miss in the name filter skips the query; the unique constraint still has the last word
+        if(uniqueKeyFilters.mightExist(UniqueKeyFilters.Key.CATEGORY_NAME, request.getName())
+                && categoryRepository.existsByName(request.getName())) {
             throw new DuplicateResourceException("Category", "name", request.getName());
         }
 
         Category category = categoryMapper.toEntity(request);
-        Category savedCategory = categoryRepository.save(category);
+        Category savedCategory;
+        try {
+            savedCategory = categoryRepository.saveAndFlush(category);
+        } catch (DataIntegrityViolationException e) {
+            throw DuplicateKeys.isDuplicateKey(e) ? new DuplicateResourceException("Category", "name", request.getName()) : e;
+        }
+        uniqueKeyFilters.add(UniqueKeyFilters.Key.CATEGORY_NAME, savedCategory.getName());
 
         log.info("Saved Category with ID: {} & name: {}", savedCategory.getId(),savedCategory.getName());
-        return categoryMapper.toResponse(savedCategory);
+        return categoryMapper.toResponse(savedCategory, 0);
     }
 
     @Transactional(readOnly = true)
@@ -54,11 +73,11 @@ public class CategoryService {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("category", "id", id));
 
-        return categoryMapper.toResponse(category);
+        return categoryMapper.toResponse(category, articleRepository.countByCategoryId(id));
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<CategoryResponse> getAllCategories(int page,int size,String sortBy,String sortDir){
+    public PageResponse<CategoryResponse> getAllCategories(int page,int size,String sortBy,String sortDir,boolean withTotal){
         log.info("Fetching all Categories - page: {}, size: {}", page, size);
 
         Sort sort = sortDir.equalsIgnoreCase("asc")
@@ -67,23 +86,20 @@ public class CategoryService {
         Pageable pageable = PageRequest.of(page, size, sort);
 
         // Fetch from DB
-        Page<Category> categoryPage = categoryRepository.findAll(pageable);
+        Slice<Category> categoryPage = withTotal
+                ? categoryRepository.findAll(pageable)
+                : categoryRepository.findAllAsSlice(pageable);
+
+        // article totals for the whole page in one grouped count
+        Map<Long, Long> articleCounts = countArticles(categoryPage.getContent());
 
         //convert to DTO
         List<CategoryResponse> categoryResponses = categoryPage.getContent()
                 .stream()
-                .map(categoryMapper::toResponse)
+                .map(category -> categoryMapper.toResponse(category, articleCounts.getOrDefault(category.getId(), 0L)))
                 .collect(Collectors.toList());
 
-        return PageResponse.<CategoryResponse>builder()
-                .content(categoryResponses)
-                .pageNumber(categoryPage.getNumber())
-                .pageSize(categoryPage.getSize())
-                .totalElements(categoryPage.getTotalElements())
-                .totalPages(categoryPage.getTotalPages())
-                .last(categoryPage.isLast())
-                .first(categoryPage.isFirst())
-                .build();
+        return PageResponse.from(categoryPage,categoryResponses);
     }
 
     @Transactional
@@ -101,4 +117,19 @@ public class CategoryService {
         return categoryRepository.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("Category", "id", id));
     }
+
+    public Map<Long, Category> getCategoryEntitiesByIds(Collection<Long> ids) {
+        log.info("Retrieving {} Categories by ID", ids.size());
+        return categoryRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+    }
+
+    private Map<Long, Long> countArticles(List<Category> categories) {
+        if (categories.isEmpty()) {
+            return Map.of();
+        }
+        return articleRepository.countByCategoryIds(categories.stream().map(Category::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(ArticleCount::getOwnerId, ArticleCount::getArticles));
+    }
 }
@@ -1,39 +1,71 @@
 package com.mz.blog.service;
 
+import com.mz.blog.cache.ArticleDetailCache;
+import com.mz.blog.cache.NegativeLookupCache;
+import com.mz.blog.dto.request.CommentModerationRequest;
 import com.mz.blog.dto.request.CreateArticleRequest;
 import com.mz.blog.dto.request.CreateCommentRequest;
 import com.mz.blog.dto.request.UpdateArticleRequest;
 import com.mz.blog.dto.response.ArticleDetailResponse;
 import com.mz.blog.dto.response.ArticleResponse;
+import com.mz.blog.dto.response.BulkCreateResponse;
+import com.mz.blog.dto.response.BulkItemResult;
+import com.mz.blog.dto.response.CommentModerationResponse;
 import com.mz.blog.dto.response.CommentResponse;
+import com.mz.blog.dto.response.CounterReconcileResponse;
+import com.mz.blog.dto.response.CursorPageResponse;
 import com.mz.blog.dto.response.PageResponse;
 import com.mz.blog.entity.*;
+import com.mz.blog.event.CommentChangedEvent;
+import com.mz.blog.exception.BadRequestException;
 import com.mz.blog.exception.DuplicateResourceException;
 import com.mz.blog.exception.ResourceNotFoundException;
 import com.mz.blog.mapper.ArticleMapper;
 import com.mz.blog.mapper.CommentMapper;
 import com.mz.blog.repository.ArticleRepository;
 import com.mz.blog.repository.CommentRepository;
+import com.mz.blog.repository.CommentSpecifications;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.PredicateSpecification;
+import org.springframework.data.jpa.domain.UpdateSpecification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "blog.service", histogram = true)
 @Slf4j
 public class CommentService {
 
+    private static final int MODERATION_RECOUNT_CHUNK = 1000;
+
     private final ArticleRepository articleRepository;
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArticleDetailCache articleDetailCache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final BulkItemValidator bulkItemValidator;
 
     @Transactional
     public CommentResponse createComment(CreateCommentRequest request) {
@@ -44,31 +76,80 @@ public class CommentService {
 
         Comment comment = commentMapper.toEntity(request, article);
         Comment savedComment = commentRepository.save(comment);
+        negativeLookupCache.forgetAfterCommit("Comment", "id", savedComment.getId());
+        articleRepository.adjustCommentCounts(article.getId(), 1, 0);
+        eventPublisher.publishEvent(new CommentChangedEvent(article.getId(), 1));
         log.info("Saved Comment with ID: {}", savedComment.getId());
         return commentMapper.toResponse(savedComment);
     }
 
+    @Transactional
+    public BulkCreateResponse<CommentResponse> createComments(List<CreateCommentRequest> requests) {
+        log.info("Bulk creating {} Comments", requests.size());
+        bulkItemValidator.checkSize(requests.size());
+
+        Set<Long> articleIds = requests.stream()
+                .filter(Objects::nonNull).map(CreateCommentRequest::getArticleId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> existingArticleIds = articleIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(articleRepository.findExistingIds(articleIds));
+
+        List<BulkItemResult<CommentResponse>> results = new ArrayList<>(Collections.nCopies(requests.size(), null));
+        List<Integer> accepted = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateCommentRequest request = requests.get(i);
+            String error = bulkItemValidator.validate(request);
+            if (error == null && !existingArticleIds.contains(request.getArticleId())) {
+                error = new ResourceNotFoundException("Article","id",request.getArticleId()).getMessage();
+            }
+            if (error != null) {
+                results.set(i, BulkItemResult.failed(i, error));
+                continue;
+            }
+            accepted.add(i);
+            comments.add(commentMapper.toEntity(request, articleRepository.getReferenceById(request.getArticleId())));
+        }
+
+        List<Comment> savedComments = commentRepository.saveAll(comments);
+
+        // one counter update per article, in id order so concurrent batches lock rows consistently
+        Map<Long, Integer> createdPerArticle = new TreeMap<>();
+        for (int i = 0; i < savedComments.size(); i++) {
+            Comment savedComment = savedComments.get(i);
+            negativeLookupCache.forgetAfterCommit("Comment", "id", savedComment.getId());
+            createdPerArticle.merge(savedComment.getArticle().getId(), 1, Integer::sum);
+            results.set(accepted.get(i), BulkItemResult.created(accepted.get(i), commentMapper.toResponse(savedComment)));
+        }
+        createdPerArticle.forEach((articleId, created) -> {
+            articleRepository.adjustCommentCounts(articleId, created, 0);
+            eventPublisher.publishEvent(new CommentChangedEvent(articleId, created));
+        });
+
+        log.info("Bulk created {} of {} Comments", savedComments.size(), requests.size());
+        return BulkCreateResponse.of(results);
+    }
+
     @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long id) {
         log.info("Fetching Comment with ID: {}", id);
 
-        Comment comment = commentRepository.findById(id)
-                .orElseThrow(()-> new ResourceNotFoundException("Comment", "id", id));
+        Comment comment = negativeLookupCache.find("Comment", "id", id, () -> commentRepository.findById(id));
         return commentMapper.toResponse(comment);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<CommentResponse> getCommentsByArticle(Long articleId,int page, int size){
+    public PageResponse<CommentResponse> getCommentsByArticle(Long articleId,int page, int size, boolean withTotal){
         log.info("Fetching Comments by Article: {} - page: {}, size: {}",articleId, page, size);
 
-        if(!articleRepository.existsById(articleId)){
-            throw new ResourceNotFoundException("Article", "id", articleId);
-        }
+        negativeLookupCache.requireExists("Article", "id", articleId, () -> articleRepository.existsById(articleId));
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
 
         // Fetch from DB
-        Page<Comment> commentPage = commentRepository.findByArticleId(articleId,pageable);
+        Slice<Comment> commentPage = withTotal
+                ? commentRepository.findByArticleId(articleId,pageable)
+                : commentRepository.findSliceByArticleId(articleId,pageable);
 
         //convert to DTO
         List<CommentResponse> commentResponses = commentPage.getContent()
@@ -76,21 +157,51 @@ public class CommentService {
                 .map(commentMapper::toResponse)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(commentPage,commentResponses);
+        return PageResponse.from(commentPage,commentResponses);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getCommentsByArticleByCursor(Long articleId, String cursor, int size){
+        log.info("Fetching Comments by Article: {} by cursor - size: {}",articleId, size);
+
+        KeysetCursor.checkPageSize(size);
+
+        negativeLookupCache.requireExists("Article", "id", articleId, () -> articleRepository.existsById(articleId));
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Comment> rows = commentRepository.findByArticleIdBefore(
+                articleId, position.getCreatedOn(), position.getId(), Limit.of(size + 1));
+
+        return buildCursorResponse(rows, size);
     }
 
     @Transactional(readOnly = true)
-    public PageResponse<CommentResponse> getApprovedCommentsByArticle(Long articleId,int page, int size){
+    public CursorPageResponse<CommentResponse> getApprovedCommentsByArticleByCursor(Long articleId, String cursor, int size){
+        log.info("Fetching Approved Comments by Article: {} by cursor - size: {}",articleId, size);
+
+        KeysetCursor.checkPageSize(size);
+
+        negativeLookupCache.requireExists("Article", "id", articleId, () -> articleRepository.existsById(articleId));
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        List<Comment> rows = commentRepository.findApprovedByArticleIdBefore(
+                articleId, position.getCreatedOn(), position.getId(), Limit.of(size + 1));
+
+        return buildCursorResponse(rows, size);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<CommentResponse> getApprovedCommentsByArticle(Long articleId,int page, int size, boolean withTotal){
         log.info("Fetching Approved Comments by Article: {} - page: {}, size: {}",articleId, page, size);
 
-        if(!articleRepository.existsById(articleId)){
-            throw new ResourceNotFoundException("Article", "id", articleId);
-        }
+        negativeLookupCache.requireExists("Article", "id", articleId, () -> articleRepository.existsById(articleId));
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdOn").descending());
 
         // Fetch from DB
-        Page<Comment> commentPage = commentRepository.findByArticleIdAndApproved(articleId,true,pageable);
+        Slice<Comment> commentPage = withTotal
+                ? commentRepository.findByArticleIdAndApproved(articleId,true,pageable)
+                : commentRepository.findSliceByArticleIdAndApproved(articleId,true,pageable);
 
         //convert to DTO
         List<CommentResponse> commentResponses = commentPage.getContent()
@@ -98,21 +209,24 @@ public class CommentService {
                 .map(commentMapper::toResponse)
                 .collect(Collectors.toList());
 
-        return buildPageResponse(commentPage,commentResponses);
+        return PageResponse.from(commentPage,commentResponses);
     }
 
     @Transactional
     public CommentResponse approveComment(Long id){
         log.info("Approving Comment with ID: {}", id);
 
+        // the row is flipped before it is read, so the loaded comment already shows the approval
+        boolean approvedNow = commentRepository.approveIfPending(id) == 1;
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment","id",id));
+        if (approvedNow) {
+            articleRepository.adjustCommentCounts(comment.getArticle().getId(), 0, 1);
+        }
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getArticle().getId()));
 
-        comment.setApproved(true);
-        Comment approvedComment = commentRepository.save(comment);
-
-        log.info("Comment Approved with ID: {}", approvedComment.getId());
-        return commentMapper.toResponse(approvedComment);
+        log.info("Comment Approved with ID: {}", comment.getId());
+        return commentMapper.toResponse(comment);
     }
 
     @Transactional
@@ -122,18 +236,98 @@ public class CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(()-> new ResourceNotFoundException("Comment", "id", id));
         commentRepository.delete(comment);
+        articleRepository.adjustCommentCounts(comment.getArticle().getId(), -1,
+                Boolean.TRUE.equals(comment.getApproved()) ? -1 : 0);
+        eventPublisher.publishEvent(new CommentChangedEvent(comment.getArticle().getId()));
         log.info("Comment Deleted successfully with ID: {}", id);
     }
 
-    private <T> PageResponse<T> buildPageResponse(Page<?> page, List<T> content) {
-        return PageResponse.<T>builder()
-                .content(content)
-                .pageNumber(page.getNumber())
-                .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .last(page.isLast())
-                .first(page.isFirst())
+    @Transactional
+    public CommentModerationResponse moderateComments(CommentModerationRequest request) {
+        log.info("Moderating Comments - action: {}", request.getAction());
+
+        PredicateSpecification<Comment> selection = toSelection(request);
+        if (request.getAction() == CommentModerationRequest.Action.APPROVE) {
+            selection = selection.and(CommentSpecifications.approved(false));
+        }
+
+        // the affected articles are collected first, the moderation itself is one statement
+        List<Long> articleIds = commentRepository.findArticleIds(selection);
+        long affected = switch (request.getAction()) {
+            case APPROVE -> commentRepository.update(UpdateSpecification.<Comment>update(
+                    (comment, update, builder) -> update.set(comment.get("approved"), true)).where(selection));
+            case DELETE -> commentRepository.delete(selection);
+        };
+
+        for (int from = 0; from < articleIds.size(); from += MODERATION_RECOUNT_CHUNK) {
+            articleRepository.reconcileCommentCountsFor(
+                    articleIds.subList(from, Math.min(from + MODERATION_RECOUNT_CHUNK, articleIds.size())));
+        }
+        articleIds.forEach(articleId -> eventPublisher.publishEvent(new CommentChangedEvent(articleId)));
+
+        log.info("Moderated {} Comments across {} Articles", affected, articleIds.size());
+        return CommentModerationResponse.builder()
+                .action(request.getAction())
+                .commentsAffected(affected)
+                .articlesAffected(articleIds.size())
+                .moderatedOn(LocalDateTime.now())
+                .build();
+    }
+
+    @Transactional
+    @Scheduled(cron = "${blog.counters.reconcile-cron:-}")
+    public CounterReconcileResponse reconcileCommentCounters() {
+        log.info("Reconciling article comment counters");
+
+        int updated = articleRepository.reconcileCommentCounts();
+        if (updated > 0) {
+            articleDetailCache.invalidateAll();
+        }
+
+        log.info("Reconciled comment counters on {} articles", updated);
+        return CounterReconcileResponse.builder()
+                .articlesUpdated(updated)
+                .reconciledOn(LocalDateTime.now())
+                .build();
+    }
+
+    private CursorPageResponse<CommentResponse> buildCursorResponse(List<Comment> rows, int size) {
+        // one extra row was fetched to tell whether another page exists
+        boolean last = rows.size() <= size;
+        List<Comment> pageRows = last ? rows : rows.subList(0, size);
+
+        List<CommentResponse> commentResponses = pageRows.stream()
+                .map(commentMapper::toResponse)
+                .collect(Collectors.toList());
+
+        Comment lastRow = pageRows.isEmpty() ? null : pageRows.get(pageRows.size() - 1);
+        return CursorPageResponse.<CommentResponse>builder()
+                .content(commentResponses)
+                .pageSize(size)
+                .nextCursor(last ? null : KeysetCursor.encode(lastRow.getCreatedOn(), lastRow.getId()))
+                .last(last)
                 .build();
     }
+
+    private PredicateSpecification<Comment> toSelection(CommentModerationRequest request) {
+        boolean byIds = request.getCommentIds() != null && !request.getCommentIds().isEmpty();
+        if (!byIds && request.getArticleId() == null && request.getOlderThanDays() == null) {
+            throw new BadRequestException("Moderation requires commentIds, articleId or olderThanDays");
+        }
+        PredicateSpecification<Comment> selection = PredicateSpecification.unrestricted();
+        if (byIds) {
+            selection = selection.and(CommentSpecifications.idIn(request.getCommentIds()));
+        }
+        if (request.getArticleId() != null) {
+            selection = selection.and(CommentSpecifications.articleId(request.getArticleId()));
+        }
+        if (request.getApproved() != null) {
+            selection = selection.and(CommentSpecifications.approved(request.getApproved()));
+        }
+        if (request.getOlderThanDays() != null) {
+            selection = selection.and(CommentSpecifications.createdBefore(
+                    LocalDateTime.now().minusDays(request.getOlderThanDays())));
+        }
+        return selection;
+    }
 }
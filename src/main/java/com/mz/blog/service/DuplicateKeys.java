@@ -0,0 +1,24 @@
+package com.mz.blog.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells a unique key violation apart from the other integrity violations a flush can raise,
+ * such as a foreign key to a row deleted concurrently. Articles, authors and categories each
+ * have a single unique key besides the id, so the violation also names the duplicated field.
+ */
+final class DuplicateKeys {
+
+    private DuplicateKeys() {
+    }
+
+    static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.mz.blog.service;
+
+import com.mz.blog.dto.response.ArticleExportRecord;
+import com.mz.blog.entity.Comment;
+import com.mz.blog.mapper.CommentMapper;
+import com.mz.blog.repository.ArticleRepository;
+import com.mz.blog.repository.CommentRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SerializationFeature;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes articles and comments as newline-delimited JSON straight from a forward-only cursor.
+ * Articles are read as unmanaged projections; for comment entities the persistence context is
+ * cleared every {@code blog.export.clear-interval} rows, so memory stays flat regardless of table size.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportService {
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final CommentMapper commentMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${blog.export.clear-interval:500}")
+    private int clearInterval;
+
+    @Transactional(readOnly = true)
+    public long exportArticles(OutputStream out, LocalDateTime updatedSince) {
+        try (Stream<ArticleExportRecord> articles = updatedSince == null
+                ? articleRepository.streamAll()
+                : articleRepository.streamUpdatedSince(updatedSince)) {
+            long rows = write(out, articles, Function.identity());
+            log.info("Exported {} articles", rows);
+            return rows;
+        }
+    }
+
+    // Comments have no update timestamp, so updatedSince selects new comments only; approvals and deletions need a full export
+    @Transactional(readOnly = true)
+    public long exportComments(OutputStream out, LocalDateTime updatedSince) {
+        try (Stream<Comment> comments = updatedSince == null
+                ? commentRepository.streamAll()
+                : commentRepository.streamCreatedSince(updatedSince)) {
+            long rows = write(out, comments, commentMapper::toResponse);
+            log.info("Exported {} comments", rows);
+            return rows;
+        }
+    }
+
+    private <E, R> long write(OutputStream out, Stream<E> rows, Function<E, R> mapper) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        // closing the generator closes the target, which also finishes a gzip stream
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            for (E row : (Iterable<E>) rows::iterator) {
+                writer.writeValue(generator, mapper.apply(row));
+                generator.writeRaw('\n');
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
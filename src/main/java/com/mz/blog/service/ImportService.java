@@ -0,0 +1,426 @@
+package com.mz.blog.service;
+
+import com.mz.blog.cache.NegativeLookupCache;
+import com.mz.blog.dto.request.CreateArticleRequest;
+import com.mz.blog.dto.request.CreateCommentRequest;
+import com.mz.blog.dto.request.ImportArticleRecord;
+import com.mz.blog.dto.response.ImportReport;
+import com.mz.blog.entity.Article;
+import com.mz.blog.entity.ArticleStatus;
+import com.mz.blog.entity.Author;
+import com.mz.blog.entity.Category;
+import com.mz.blog.entity.Comment;
+import com.mz.blog.entity.ImportCheckpoint;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.exception.BadRequestException;
+import com.mz.blog.exception.DuplicateResourceException;
+import com.mz.blog.exception.ResourceNotFoundException;
+import com.mz.blog.mapper.ArticleMapper;
+import com.mz.blog.mapper.CommentMapper;
+import com.mz.blog.repository.ArticleRepository;
+import com.mz.blog.repository.AuthorRepository;
+import com.mz.blog.repository.CategoryRepository;
+import com.mz.blog.repository.CommentRepository;
+import com.mz.blog.repository.ImportCheckpointRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams NDJSON article records into the database. A reader thread parses lines into chunks on
+ * a bounded queue, so a slow database holds back parsing instead of buffering the input. Each chunk
+ * is written in one transaction together with the job's checkpoint, and rerunning a job skips the
+ * lines that were already committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ImportService {
+
+    private static final int MAX_JOB_ID_LENGTH = 100;
+    private static final int MAX_REPORTED_FAILURES = 100;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final AuthorRepository authorRepository;
+    private final CategoryRepository categoryRepository;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final ArticleMapper articleMapper;
+    private final CommentMapper commentMapper;
+    private final SlugGenerator slugGenerator;
+    private final BulkItemValidator bulkItemValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NegativeLookupCache negativeLookupCache;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${blog.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${blog.import.queue-capacity:4}")
+    private int queueCapacity;
+
+    public ImportReport importArticles(String jobId, Path file) throws IOException {
+        log.info("Importing articles from {} as job {}", file, jobId);
+        try (InputStream in = new MappedFileInputStream(file)) {
+            return importArticles(jobId, in);
+        }
+    }
+
+    public ImportReport importArticles(String jobId, InputStream in) {
+        if (jobId == null || jobId.isBlank() || jobId.length() > MAX_JOB_ID_LENGTH) {
+            throw new BadRequestException("jobId must be between 1 and " + MAX_JOB_ID_LENGTH + " characters");
+        }
+        if (!runningJobs.add(jobId)) {
+            throw new BadRequestException("Import " + jobId + " is already running");
+        }
+        try {
+            return run(jobId, in);
+        } finally {
+            runningJobs.remove(jobId);
+        }
+    }
+
+    public ImportReport getImportStatus(String jobId) {
+        return checkpointRepository.findById(jobId)
+                .map(checkpoint -> toReport(checkpoint).build())
+                .orElseThrow(() -> new ResourceNotFoundException("Import", "jobId", jobId));
+    }
+
+    private ImportReport run(String jobId, InputStream in) {
+        ImportCheckpoint checkpoint = transactionTemplate.execute(status -> checkpointRepository.findById(jobId)
+                .orElseGet(() -> checkpointRepository.save(new ImportCheckpoint(jobId))));
+        if (checkpoint.getStatus() == ImportCheckpoint.Status.COMPLETED) {
+            log.info("Import {} already completed", jobId);
+            return toReport(checkpoint).build();
+        }
+        long resumeAfter = checkpoint.getLinesDone();
+        if (resumeAfter > 0) {
+            log.info("Resuming import {} after line {}", jobId, resumeAfter);
+        }
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Thread reader = new Thread(() -> read(in, resumeAfter, queue), "import-reader-" + jobId);
+        reader.setDaemon(true);
+        reader.start();
+
+        Progress progress = new Progress(jobId, resumeAfter);
+        try {
+            Chunk chunk;
+            do {
+                chunk = queue.take();
+                if (chunk.failure != null) {
+                    throw new BadRequestException("Import " + jobId + " could not read line " + (chunk.lastLine + 1)
+                            + ": " + chunk.failure.getMessage());
+                }
+                Chunk current = chunk;
+                progress.add(transactionTemplate.execute(status -> writeChunk(jobId, current)), chunk.lastLine);
+            } while (!chunk.last);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reader.interrupt();
+            finish(jobId, ImportCheckpoint.Status.FAILED);
+            throw new IllegalStateException("Import " + jobId + " was interrupted", e);
+        } catch (RuntimeException e) {
+            reader.interrupt();
+            finish(jobId, ImportCheckpoint.Status.FAILED);
+            log.warn("Import {} failed after line {}, rerun the job to resume", jobId, progress.lastLine, e);
+            throw e;
+        }
+
+        ImportCheckpoint completed = finish(jobId, ImportCheckpoint.Status.COMPLETED);
+        log.info("Import {} completed: {} articles and {} comments in {} ms, {} failed records",
+                jobId, progress.articles, progress.comments, progress.elapsedMs(), progress.failed);
+        return toReport(completed)
+                .resumedFromLine(resumeAfter > 0 ? resumeAfter : null)
+                .elapsedMs(progress.elapsedMs())
+                .linesPerSecond(progress.linesPerSecond())
+                .failures(progress.failures)
+                .build();
+    }
+
+    private void read(InputStream in, long skipLines, BlockingQueue<Chunk> queue) {
+        long lineNumber = 0;
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+            List<Line> lines = new ArrayList<>(chunkSize);
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= skipLines || text.isBlank()) {
+                    continue;
+                }
+                lines.add(parse(lineNumber, text));
+                if (lines.size() == chunkSize) {
+                    // blocks while the writer is behind, which is the backpressure on the input
+                    queue.put(new Chunk(lines, lineNumber, false, null));
+                    lines = new ArrayList<>(chunkSize);
+                }
+            }
+            queue.put(new Chunk(lines, lineNumber, true, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            try {
+                queue.put(new Chunk(List.of(), lineNumber, true, e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Line parse(long lineNumber, String text) {
+        try {
+            ImportArticleRecord record = objectMapper.readValue(text, ImportArticleRecord.class);
+            return record == null ? new Line(lineNumber, null, "Record is required") : new Line(lineNumber, record, null);
+        } catch (JacksonException e) {
+            return new Line(lineNumber, null, "Malformed record: " + e.getOriginalMessage());
+        }
+    }
+
+    private ChunkResult writeChunk(String jobId, Chunk chunk) {
+        // authors and categories are resolved once per chunk
+        Map<String, Author> authors = authorRepository.findByEmailIn(distinct(chunk, ImportArticleRecord::getAuthorEmail)).stream()
+                .collect(Collectors.toMap(Author::getEmail, Function.identity()));
+        Map<String, Category> categories = categoryRepository.findByNameIn(distinct(chunk, ImportArticleRecord::getCategoryName)).stream()
+                .collect(Collectors.toMap(Category::getName, Function.identity()));
+
+        List<ImportReport.Failure> failures = new ArrayList<>();
+        List<Article> articles = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (Line line : chunk.lines) {
+            ImportArticleRecord record = line.record;
+            String error = line.error;
+            Author author = record == null ? null : authors.get(record.getAuthorEmail());
+            Category category = record == null ? null : categories.get(record.getCategoryName());
+            if (error == null && author == null) {
+                error = new ResourceNotFoundException("Author", "email", record.getAuthorEmail()).getMessage();
+            }
+            if (error == null && category == null) {
+                error = new ResourceNotFoundException("Category", "name", record.getCategoryName()).getMessage();
+            }
+            CreateArticleRequest request = error != null ? null : new CreateArticleRequest(
+                    record.getTitle(), record.getContent(), record.getExcerpt(), author.getId(), category.getId());
+            if (error == null) {
+                error = bulkItemValidator.validate(request);
+            }
+            if (error != null) {
+                failures.add(new ImportReport.Failure(line.number, error));
+                continue;
+            }
+
+            Article article = articleMapper.toEntity(request, author, category);
+            if (record.getStatus() != null) {
+                article.setStatus(record.getStatus());
+                if (record.getStatus() == ArticleStatus.PUBLISHED) {
+                    article.setPublishedOn(record.getPublishedOn() != null ? record.getPublishedOn() : LocalDateTime.now());
+                }
+            }
+            addComments(article, line, comments, failures);
+            articles.add(article);
+        }
+
+        List<String> slugs = slugGenerator.uniqueArticleSlugs(articles.stream().map(Article::getTitle).toList());
+        for (int i = 0; i < articles.size(); i++) {
+            articles.get(i).setSlug(slugs.get(i));
+        }
+        try {
+            articleRepository.saveAll(articles);
+            commentRepository.saveAll(comments);
+            entityManager.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (!DuplicateKeys.isDuplicateKey(e)) {
+                throw e;
+            }
+            throw new DuplicateResourceException("Import " + jobId + " lines up to " + chunk.lastLine
+                    + " collided with an article slug taken concurrently, rerun the job to resume");
+        }
+        comments.forEach(comment -> negativeLookupCache.forgetAfterCommit("Comment", "id", comment.getId()));
+        articles.forEach(article -> eventPublisher.publishEvent(ArticleChangedEvent.created(article)));
+
+        ImportCheckpoint checkpoint = checkpointRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import", "jobId", jobId));
+        checkpoint.setLinesDone(Math.max(checkpoint.getLinesDone(), chunk.lastLine));
+        checkpoint.setArticlesImported(checkpoint.getArticlesImported() + articles.size());
+        checkpoint.setCommentsImported(checkpoint.getCommentsImported() + comments.size());
+        checkpoint.setFailedRecords(checkpoint.getFailedRecords() + failures.size());
+
+        // an open-in-view session would otherwise keep every imported entity managed
+        entityManager.flush();
+        entityManager.clear();
+        return new ChunkResult(articles.size(), comments.size(), failures);
+    }
+
+    // Counters are set before the article is persisted because they are insert-only columns
+    private void addComments(Article article, Line line, List<Comment> comments, List<ImportReport.Failure> failures) {
+        List<ImportArticleRecord.Comment> records = line.record.getComments() == null ? List.of() : line.record.getComments();
+        int total = 0;
+        int approved = 0;
+        for (int i = 0; i < records.size(); i++) {
+            ImportArticleRecord.Comment record = records.get(i);
+            // the article id is assigned on persist, 0 stands in for it during validation
+            CreateCommentRequest request = record == null ? null
+                    : new CreateCommentRequest(0L, record.getAuthorName(), record.getAuthorEmail(), record.getContent());
+            String error = bulkItemValidator.validate(request);
+            if (error != null) {
+                failures.add(new ImportReport.Failure(line.number, "comments[" + i + "]: " + error));
+                continue;
+            }
+            Comment comment = commentMapper.toEntity(request, article);
+            comment.setApproved(Boolean.TRUE.equals(record.getApproved()));
+            comments.add(comment);
+            total++;
+            if (comment.getApproved()) {
+                approved++;
+            }
+        }
+        article.setCommentCount(total);
+        article.setApprovedCommentCount(approved);
+    }
+
+    private ImportCheckpoint finish(String jobId, ImportCheckpoint.Status status) {
+        return transactionTemplate.execute(tx -> {
+            ImportCheckpoint checkpoint = checkpointRepository.findById(jobId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Import", "jobId", jobId));
+            checkpoint.setStatus(status);
+            return checkpointRepository.saveAndFlush(checkpoint);
+        });
+    }
+
+    private static Set<String> distinct(Chunk chunk, Function<ImportArticleRecord, String> key) {
+        return chunk.lines.stream()
+                .map(line -> line.record)
+                .filter(Objects::nonNull)
+                .map(key)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static ImportReport.ImportReportBuilder toReport(ImportCheckpoint checkpoint) {
+        return ImportReport.builder()
+                .jobId(checkpoint.getJobId())
+                .status(checkpoint.getStatus())
+                .linesProcessed(checkpoint.getLinesDone())
+                .articlesImported(checkpoint.getArticlesImported())
+                .commentsImported(checkpoint.getCommentsImported())
+                .failedRecords(checkpoint.getFailedRecords())
+                .updatedOn(checkpoint.getUpdatedOn());
+    }
+
+    private static final class Line {
+
+        private final long number;
+        private final ImportArticleRecord record;
+        private final String error;
+
+        private Line(long number, ImportArticleRecord record, String error) {
+            this.number = number;
+            this.record = record;
+            this.error = error;
+        }
+    }
+
+    private static final class Chunk {
+
+        private final List<Line> lines;
+        private final long lastLine;
+        private final boolean last;
+        private final Exception failure;
+
+        private Chunk(List<Line> lines, long lastLine, boolean last, Exception failure) {
+            this.lines = lines;
+            this.lastLine = lastLine;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+
+    private static final class ChunkResult {
+
+        private final int articles;
+        private final int comments;
+        private final List<ImportReport.Failure> failures;
+
+        private ChunkResult(int articles, int comments, List<ImportReport.Failure> failures) {
+            this.articles = articles;
+            this.comments = comments;
+            this.failures = failures;
+        }
+    }
+
+    private static final class Progress {
+
+        private final String jobId;
+        private final long resumeAfter;
+        private final long startedNanos = System.nanoTime();
+        private final List<ImportReport.Failure> failures = new ArrayList<>();
+        private long lastLogNanos = startedNanos;
+        private long lastLine;
+        private long articles;
+        private long comments;
+        private long failed;
+
+        private Progress(String jobId, long resumeAfter) {
+            this.jobId = jobId;
+            this.resumeAfter = resumeAfter;
+            this.lastLine = resumeAfter;
+        }
+
+        private void add(ChunkResult result, long chunkLastLine) {
+            lastLine = Math.max(lastLine, chunkLastLine);
+            articles += result.articles;
+            comments += result.comments;
+            failed += result.failures.size();
+            for (ImportReport.Failure failure : result.failures) {
+                if (failures.size() == MAX_REPORTED_FAILURES) {
+                    break;
+                }
+                failures.add(failure);
+            }
+            long now = System.nanoTime();
+            if (now - lastLogNanos >= PROGRESS_LOG_INTERVAL_NANOS) {
+                lastLogNanos = now;
+                log.info("Import {}: line {}, {} articles and {} comments imported, {} failed, {} lines/s",
+                        jobId, lastLine, articles, comments, failed, Math.round(linesPerSecond()));
+            }
+        }
+
+        private long elapsedMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        }
+
+        private double linesPerSecond() {
+            double seconds = (System.nanoTime() - startedNanos) / 1e9;
+            return seconds <= 0 ? 0 : (lastLine - resumeAfter) / seconds;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.mz.blog.service;
+
+import com.mz.blog.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position for keyset pagination over {@code (created_on desc, id desc)}.
+ * An empty cursor starts from the newest row.
+ */
+@Getter
+@AllArgsConstructor
+final class KeysetCursor {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime createdOn;
+    private final long id;
+
+    static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    // one row past the page is fetched, so the size is bounded before it reaches the limit
+    static int checkPageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    static String encode(LocalDateTime createdOn, long id) {
+        String raw = createdOn + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,64 @@
+package com.mz.blog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential {@link InputStream} over a memory-mapped file. The file is mapped in windows of at
+ * most {@value #WINDOW_BYTES} bytes, so inputs beyond the 2 GB limit of a single mapping work too.
+ */
+class MappedFileInputStream extends InputStream {
+
+    private static final long WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+    private long mappedUpTo;
+    private MappedByteBuffer window;
+
+    MappedFileInputStream(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextWindow() ? window.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextWindow()) {
+            return -1;
+        }
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private boolean nextWindow() throws IOException {
+        if (window != null && window.hasRemaining()) {
+            return true;
+        }
+        if (mappedUpTo >= size) {
+            return false;
+        }
+        long length = Math.min(WINDOW_BYTES, size - mappedUpTo);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, mappedUpTo, length);
+        mappedUpTo += length;
+        return true;
+    }
+}
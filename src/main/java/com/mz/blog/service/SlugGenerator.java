@@ -0,0 +1,117 @@
+package com.mz.blog.service;
+
+import com.mz.blog.cache.UniqueKeyFilters;
+import com.mz.blog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds URL slugs from titles. Runs of whitespace, dashes and underscores become a single
+ * dash, other punctuation is dropped, and taken slugs get the lowest free numeric suffix from 2.
+ * Bases the slug filter has never seen are used without a lookup.
+ */
+@Component
+@RequiredArgsConstructor
+public class SlugGenerator {
+
+    static final int MAX_BASE_LENGTH = 240;
+    static final String FALLBACK_SLUG = "article";
+    static final long FIRST_SUFFIX = 2;
+
+    private final ArticleRepository articleRepository;
+    private final UniqueKeyFilters uniqueKeyFilters;
+
+    public String uniqueArticleSlug(String title, Long articleId) {
+        String base = slugify(title);
+        if (!uniqueKeyFilters.mightExist(UniqueKeyFilters.Key.ARTICLE_SLUG, base)) {
+            return handOut(base);
+        }
+        Set<String> taken = new HashSet<>(articleRepository.findSlugsWithPrefix(base, articleId));
+        if (!taken.contains(base)) {
+            return handOut(base);
+        }
+        return handOut(base + "-" + firstFreeSuffix(base, taken, FIRST_SUFFIX));
+    }
+
+    // Batch variant for bulk creates: one lookup for all base slugs, a prefix query only for bases that are taken
+    public List<String> uniqueArticleSlugs(List<String> titles) {
+        List<String> bases = titles.stream().map(SlugGenerator::slugify).toList();
+        Set<String> candidates = new HashSet<>();
+        for (String base : bases) {
+            if (uniqueKeyFilters.mightExist(UniqueKeyFilters.Key.ARTICLE_SLUG, base)) {
+                candidates.add(base);
+            }
+        }
+        Set<String> taken = candidates.isEmpty() ? new HashSet<>() : new HashSet<>(articleRepository.findSlugsIn(candidates));
+        // per taken base, the suffix to resume from; every suffix below it is already in taken
+        Map<String, Long> nextSuffixes = new HashMap<>();
+        List<String> slugs = new ArrayList<>(bases.size());
+        for (String base : bases) {
+            if (taken.add(base)) {
+                slugs.add(base);
+                continue;
+            }
+            Long from = nextSuffixes.get(base);
+            if (from == null) {
+                taken.addAll(articleRepository.findSlugsWithPrefix(base, null));
+                from = FIRST_SUFFIX;
+            }
+            long suffix = firstFreeSuffix(base, taken, from);
+            taken.add(base + "-" + suffix);
+            nextSuffixes.put(base, suffix + 1);
+            slugs.add(base + "-" + suffix);
+        }
+        slugs.forEach(this::handOut);
+        return slugs;
+    }
+
+    // recorded before the insert, so a concurrent create of the same title takes the query path
+    private String handOut(String slug) {
+        uniqueKeyFilters.add(UniqueKeyFilters.Key.ARTICLE_SLUG, slug);
+        return slug;
+    }
+
+    public static String slugify(String title) {
+        int length = Math.min(title.length(), MAX_BASE_LENGTH);
+        char[] slug = new char[length];
+        int size = 0;
+        boolean pendingDash = false;
+        for (int i = 0; i < title.length() && size < length; i++) {
+            char c = title.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c + ('a' - 'A'));
+            }
+            if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+                if (pendingDash) {
+                    if (size + 2 > length) {
+                        break;
+                    }
+                    slug[size++] = '-';
+                    pendingDash = false;
+                }
+                slug[size++] = c;
+            } else if (c == '-' || c == '_' || Character.isWhitespace(c)) {
+                pendingDash = size > 0;
+            }
+        }
+        return size == 0 ? FALLBACK_SLUG : new String(slug, 0, size);
+    }
+
+    // The lowest suffix not in use, so a title that itself ends in digits ("top-10", "recap-2024")
+    // never pushes the numbering of its base past the run of suffixes actually handed out
+    static long firstFreeSuffix(String base, Collection<String> taken, long from) {
+        long suffix = from;
+        while (taken.contains(base + "-" + suffix)) {
+            suffix++;
+        }
+        return suffix;
+    }
+}
@@ -0,0 +1,107 @@
+package com.mz.blog.service;
+
+import com.mz.blog.event.ViewCountsFlushedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for article views. Increments land in striped {@link LongAdder}s
+ * and are flushed to {@code articles.view_count} as batched relative updates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE articles SET view_count = view_count + ? WHERE id = ?";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // a lock rather than synchronized, so a virtual thread blocked on JDBC inside flush does not pin its carrier
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public void increment(Long articleId) {
+        pending.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+    }
+
+    public long getPending(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public Integer withPending(Long articleId, Integer persisted) {
+        long pendingViews = getPending(articleId);
+        if (pendingViews == 0) {
+            return persisted;
+        }
+        long base = persisted == null ? 0 : persisted;
+        return (int) Math.min(Integer.MAX_VALUE, base + pendingViews);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, entry.getKey()});
+            } else if (pending.remove(entry.getKey(), adder)) {
+                // an increment may have raced with the removal of an idle adder
+                long late = adder.sumThenReset();
+                if (late > 0) {
+                    pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(late);
+                }
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.sort((a, b) -> Long.compare((Long) a[1], (Long) b[1]));
+
+        for (int from = 0; from < batch.size(); from += FLUSH_BATCH_SIZE) {
+            List<Object[]> chunk = batch.subList(from, Math.min(from + FLUSH_BATCH_SIZE, batch.size()));
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, chunk);
+                Map<Long, Long> flushed = new HashMap<>();
+                chunk.forEach(args -> flushed.put((Long) args[1], (Long) args[0]));
+                eventPublisher.publishEvent(new ViewCountsFlushedEvent(flushed));
+            } catch (DataAccessException e) {
+                log.warn("Failed to flush {} view count deltas, re-queueing", chunk.size(), e);
+                chunk.forEach(args -> pending.computeIfAbsent((Long) args[1], id -> new LongAdder()).add((Long) args[0]));
+            }
+        }
+        log.debug("Flushed view counts for {} articles", batch.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending view counts before shutdown");
+        flush();
+    }
+}
@@ -0,0 +1,88 @@
+package com.mz.blog.trending;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The K highest scored articles of one ranking. Mutated under the tracker's lock; readers only
+ * see the immutable snapshot taken by {@link #publish()}.
+ */
+class TopK {
+
+    private static final Comparator<TrendingTracker.Ranked> ORDER = Comparator
+            .comparingDouble(TrendingTracker.Ranked::getScore).reversed()
+            .thenComparingLong(TrendingTracker.Ranked::getArticleId);
+
+    private final int capacity;
+    private final TreeSet<TrendingTracker.Ranked> ranked = new TreeSet<>(ORDER);
+    private final Map<Long, TrendingTracker.Ranked> members = new HashMap<>();
+    private volatile List<TrendingTracker.Ranked> snapshot = List.of();
+    private boolean changed;
+
+    TopK(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(long articleId, double score) {
+        TrendingTracker.Ranked current = members.get(articleId);
+        if (current != null) {
+            ranked.remove(current);
+        } else if (ranked.size() == capacity) {
+            TrendingTracker.Ranked lowest = ranked.last();
+            if (score <= lowest.getScore()) {
+                return;
+            }
+            ranked.remove(lowest);
+            members.remove(lowest.getArticleId());
+        }
+        TrendingTracker.Ranked updated = new TrendingTracker.Ranked(articleId, score);
+        ranked.add(updated);
+        members.put(articleId, updated);
+        changed = true;
+    }
+
+    boolean remove(long articleId) {
+        TrendingTracker.Ranked current = members.remove(articleId);
+        if (current == null) {
+            return false;
+        }
+        ranked.remove(current);
+        changed = true;
+        return true;
+    }
+
+    boolean contains(long articleId) {
+        return members.containsKey(articleId);
+    }
+
+    boolean isEmpty() {
+        return ranked.isEmpty();
+    }
+
+    // Multiplying every score by the same factor keeps the order, so entries are rewritten in place
+    void rescale(double factor) {
+        List<TrendingTracker.Ranked> current = List.copyOf(ranked);
+        ranked.clear();
+        members.clear();
+        for (TrendingTracker.Ranked entry : current) {
+            TrendingTracker.Ranked scaled = new TrendingTracker.Ranked(entry.getArticleId(), entry.getScore() * factor);
+            ranked.add(scaled);
+            members.put(scaled.getArticleId(), scaled);
+        }
+        changed = true;
+    }
+
+    void publish() {
+        if (changed) {
+            snapshot = List.copyOf(ranked);
+            changed = false;
+        }
+    }
+
+    List<TrendingTracker.Ranked> snapshot() {
+        return snapshot;
+    }
+}
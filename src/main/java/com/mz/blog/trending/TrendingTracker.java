@@ -0,0 +1,356 @@
+package com.mz.blog.trending;
+
+import com.mz.blog.dto.projection.ArticleCategory;
+import com.mz.blog.event.ArticleChangedEvent;
+import com.mz.blog.event.CommentChangedEvent;
+import com.mz.blog.event.ViewCountsFlushedEvent;
+import com.mz.blog.repository.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Exponentially decayed popularity per article, fed by view flushes and new comments. Scores use
+ * forward decay: an event at time t adds {@code weight * e^(lambda * (t - landmark))}, so a score
+ * never decreases and the order of raw scores always equals the order of decayed ones. That keeps
+ * the bounded top-K per category and globally exact under increments alone, and reads are O(K).
+ * Scores are checkpointed to {@code trending_scores} so a restart keeps the current trends.
+ */
+@Component
+@Slf4j
+public class TrendingTracker {
+
+    private static final String LOAD_SQL = "SELECT article_id, category_id, score, landmark_ms FROM trending_scores";
+    private static final String UPSERT_SQL = """
+            INSERT INTO trending_scores (article_id, category_id, score, landmark_ms) VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE category_id = VALUES(category_id), score = VALUES(score), landmark_ms = VALUES(landmark_ms)
+            """;
+    private static final String DELETE_SQL = "DELETE FROM trending_scores WHERE article_id = ?";
+    private static final int CHECKPOINT_BATCH_SIZE = 500;
+
+    // the landmark moves before raw scores grow past 2^64, far from double overflow
+    private static final double MAX_GROWTH_EXPONENT = 64 * Math.log(2);
+    // decayed scores below this are dropped at checkpoint unless they still rank
+    private static final double PRUNE_BELOW = 0.01;
+
+    private final ArticleRepository articleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final double lambdaPerMs;
+    @Getter
+    private final int capacity;
+    private final double commentWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final TopK global;
+    private final Map<Long, TopK> byCategory = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = new HashSet<>();
+    private final Set<Long> removed = new HashSet<>();
+    private volatile long landmarkMs = System.currentTimeMillis();
+
+    @Getter
+    @AllArgsConstructor
+    public static class Ranked {
+        private final long articleId;
+        private final double score;
+    }
+
+    private static final class Entry {
+        private Long categoryId;
+        private double score;
+
+        private Entry(Long categoryId) {
+            this.categoryId = categoryId;
+        }
+    }
+
+    public TrendingTracker(ArticleRepository articleRepository, JdbcTemplate jdbcTemplate,
+                           @Value("${blog.trending.half-life:6h}") Duration halfLife,
+                           @Value("${blog.trending.top-k:100}") int capacity,
+                           @Value("${blog.trending.comment-weight:5}") double commentWeight) {
+        this.articleRepository = articleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.lambdaPerMs = Math.log(2) / Math.max(1, halfLife.toMillis());
+        this.capacity = capacity;
+        this.commentWeight = commentWeight;
+        this.global = new TopK(capacity);
+    }
+
+    // Highest decayed scores first, for one category or across all when categoryId is null
+    public List<Ranked> top(Long categoryId, int limit) {
+        TopK topK = categoryId == null ? global : byCategory.get(categoryId);
+        if (topK == null) {
+            return List.of();
+        }
+        List<Ranked> snapshot = topK.snapshot();
+        double decay = Math.exp(-lambdaPerMs * (System.currentTimeMillis() - landmarkMs));
+        List<Ranked> top = new ArrayList<>(Math.min(limit, snapshot.size()));
+        for (int i = 0; i < snapshot.size() && i < limit; i++) {
+            Ranked ranked = snapshot.get(i);
+            top.add(new Ranked(ranked.getArticleId(), ranked.getScore() * decay));
+        }
+        return top;
+    }
+
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        Map<Long, Double> weights = new HashMap<>();
+        event.getDeltas().forEach((articleId, views) -> weights.put(articleId, views.doubleValue()));
+        add(weights);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentChanged(CommentChangedEvent event) {
+        if (event.getCommentsAdded() > 0) {
+            add(Map.of(event.getArticleId(), commentWeight * event.getCommentsAdded()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        switch (event.getType()) {
+            case UPDATED -> moveToCategory(event.getArticleId(), event.getCategoryId());
+            case DELETED -> remove(event.getArticleId());
+            default -> {
+                // a new article has no score until it is viewed or commented on
+            }
+        }
+    }
+
+    public void remove(Long articleId) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(articleId);
+            if (entry == null) {
+                return;
+            }
+            dirty.remove(articleId);
+            removed.add(articleId);
+            if (global.remove(articleId)) {
+                refill(global, null);
+            }
+            TopK category = byCategory.get(entry.categoryId);
+            if (category != null && category.remove(articleId)) {
+                refill(category, entry.categoryId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long started = System.currentTimeMillis();
+        List<Object[]> rows = jdbcTemplate.query(LOAD_SQL, (rs, rowNum) -> new Object[]{
+                rs.getLong("article_id"), rs.getLong("category_id"), rs.getDouble("score"), rs.getLong("landmark_ms")});
+        lock.lock();
+        try {
+            for (Object[] row : rows) {
+                Long articleId = (Long) row[0];
+                // rebase the stored score from its own landmark onto the current one
+                double score = (Double) row[2] * Math.exp(lambdaPerMs * ((Long) row[3] - landmarkMs));
+                Entry entry = entries.computeIfAbsent(articleId, id -> new Entry((Long) row[1]));
+                entry.score += score;
+                rank(articleId, entry);
+            }
+            publishAll();
+        } finally {
+            lock.unlock();
+        }
+        log.info("Restored {} trending scores in {} ms", rows.size(), System.currentTimeMillis() - started);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        lock.lock();
+        try {
+            prune();
+            long landmark = landmarkMs;
+            for (Long articleId : dirty) {
+                Entry entry = entries.get(articleId);
+                upserts.add(new Object[]{articleId, entry.categoryId, entry.score, landmark});
+            }
+            removed.forEach(articleId -> deletes.add(new Object[]{articleId}));
+            dirty.clear();
+            removed.clear();
+        } finally {
+            lock.unlock();
+        }
+        if (upserts.isEmpty() && deletes.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int from = 0; from < deletes.size(); from += CHECKPOINT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(DELETE_SQL, deletes.subList(from, Math.min(from + CHECKPOINT_BATCH_SIZE, deletes.size())));
+            }
+            for (int from = 0; from < upserts.size(); from += CHECKPOINT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, upserts.subList(from, Math.min(from + CHECKPOINT_BATCH_SIZE, upserts.size())));
+            }
+            log.debug("Checkpointed {} trending scores, removed {}", upserts.size(), deletes.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to checkpoint {} trending scores, retrying on the next run", upserts.size(), e);
+            lock.lock();
+            try {
+                upserts.forEach(row -> {
+                    if (entries.containsKey((Long) row[0])) {
+                        dirty.add((Long) row[0]);
+                    }
+                });
+                deletes.forEach(row -> {
+                    if (!entries.containsKey((Long) row[0])) {
+                        removed.add((Long) row[0]);
+                    }
+                });
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        log.info("Checkpointing trending scores before shutdown");
+        checkpoint();
+    }
+
+    private void add(Map<Long, Double> weights) {
+        Set<Long> unknown;
+        lock.lock();
+        try {
+            unknown = weights.keySet().stream().filter(id -> !entries.containsKey(id)).collect(Collectors.toSet());
+        } finally {
+            lock.unlock();
+        }
+        // categories of newly trending articles are looked up in one query outside the lock
+        Map<Long, Long> categories = unknown.isEmpty() ? Map.of() : articleRepository.findCategoryIds(unknown).stream()
+                .collect(Collectors.toMap(ArticleCategory::getArticleId, ArticleCategory::getCategoryId));
+
+        lock.lock();
+        try {
+            double growth = growth(System.currentTimeMillis());
+            Set<TopK> touched = new HashSet<>();
+            weights.forEach((articleId, weight) -> {
+                Entry entry = entries.get(articleId);
+                if (entry == null) {
+                    Long categoryId = categories.get(articleId);
+                    if (categoryId == null) {
+                        // deleted before its views were flushed
+                        return;
+                    }
+                    entry = new Entry(categoryId);
+                    entries.put(articleId, entry);
+                }
+                entry.score += weight * growth;
+                dirty.add(articleId);
+                removed.remove(articleId);
+                touched.addAll(rank(articleId, entry));
+            });
+            touched.forEach(TopK::publish);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveToCategory(Long articleId, Long categoryId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(articleId);
+            if (entry == null || categoryId == null || categoryId.equals(entry.categoryId)) {
+                return;
+            }
+            TopK previous = byCategory.get(entry.categoryId);
+            if (previous != null && previous.remove(articleId)) {
+                refill(previous, entry.categoryId);
+            }
+            entry.categoryId = categoryId;
+            dirty.add(articleId);
+            rank(articleId, entry).forEach(TopK::publish);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<TopK> rank(Long articleId, Entry entry) {
+        TopK category = byCategory.computeIfAbsent(entry.categoryId, id -> new TopK(capacity));
+        global.offer(articleId, entry.score);
+        category.offer(articleId, entry.score);
+        return List.of(global, category);
+    }
+
+    // A removal leaves a gap that only a scan can fill; deletions are rare enough for that
+    private void refill(TopK topK, Long categoryId) {
+        entries.forEach((articleId, entry) -> {
+            if ((categoryId == null || categoryId.equals(entry.categoryId)) && !topK.contains(articleId)) {
+                topK.offer(articleId, entry.score);
+            }
+        });
+        topK.publish();
+    }
+
+    private double growth(long nowMs) {
+        double exponent = lambdaPerMs * (nowMs - landmarkMs);
+        if (exponent > MAX_GROWTH_EXPONENT) {
+            rescale(nowMs);
+            exponent = 0;
+        }
+        return Math.exp(exponent);
+    }
+
+    // Moves the landmark to now. Stored rows keep their own landmark, so nothing has to be rewritten.
+    private void rescale(long nowMs) {
+        double factor = Math.exp(-lambdaPerMs * (nowMs - landmarkMs));
+        entries.values().forEach(entry -> entry.score *= factor);
+        global.rescale(factor);
+        byCategory.values().forEach(topK -> topK.rescale(factor));
+        landmarkMs = nowMs;
+        publishAll();
+        log.debug("Moved the trending decay landmark, scores scaled by {}", factor);
+    }
+
+    private void prune() {
+        double threshold = PRUNE_BELOW * Math.exp(lambdaPerMs * (System.currentTimeMillis() - landmarkMs));
+        List<Long> stale = new ArrayList<>();
+        entries.forEach((articleId, entry) -> {
+            if (entry.score < threshold && !global.contains(articleId)) {
+                TopK category = byCategory.get(entry.categoryId);
+                if (category == null || !category.contains(articleId)) {
+                    stale.add(articleId);
+                }
+            }
+        });
+        for (Long articleId : stale) {
+            entries.remove(articleId);
+            dirty.remove(articleId);
+            removed.add(articleId);
+        }
+        byCategory.values().removeIf(TopK::isEmpty);
+    }
+
+    private void publishAll() {
+        global.publish();
+        byCategory.values().forEach(TopK::publish);
+    }
+}
@@ -0,0 +1,125 @@
+package com.mz.blog;
+
+import com.mz.blog.entity.Article;
+import com.mz.blog.entity.ArticleStatus;
+import com.mz.blog.entity.Author;
+import com.mz.blog.entity.Category;
+import com.mz.blog.entity.Comment;
+import com.mz.blog.repository.ArticleRepository;
+import com.mz.blog.repository.AuthorRepository;
+import com.mz.blog.repository.CategoryRepository;
+import com.mz.blog.repository.CommentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.mz.blog.support.QueryBudget.statementsAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "blog.sql.statement-count-header=true")
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTests {
+
+    private static final int AUTHORS = 3;
+    private static final int CATEGORIES = 3;
+    private static final int ARTICLES = 9;
+    private static final int COMMENTS_PER_ARTICLE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final List<Author> authors = new ArrayList<>();
+    private final List<Category> categories = new ArrayList<>();
+    private final List<Article> articles = new ArrayList<>();
+    private final List<Comment> comments = new ArrayList<>();
+
+    // A budget only catches N+1 queries when every page row has its own author, category and comments
+    @BeforeEach
+    void seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        for (int i = 0; i < AUTHORS; i++) {
+            Author author = new Author();
+            author.setName("Budget Author " + i);
+            author.setEmail("budget-" + run + "-" + i + "@example.com");
+            authors.add(authorRepository.save(author));
+        }
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("Budget " + run + " " + i);
+            categories.add(categoryRepository.save(category));
+        }
+        for (int i = 0; i < ARTICLES; i++) {
+            Article article = new Article();
+            article.setTitle("Budget article " + i);
+            article.setSlug("budget-" + run + "-" + i);
+            article.setContent("Seeded body " + i);
+            article.setStatus(ArticleStatus.PUBLISHED);
+            article.setPublishedOn(LocalDateTime.now());
+            article.setAuthor(authors.get(i % AUTHORS));
+            article.setCategory(categories.get(i % CATEGORIES));
+            articles.add(articleRepository.save(article));
+        }
+        for (Article article : articles) {
+            for (int i = 0; i < COMMENTS_PER_ARTICLE; i++) {
+                Comment comment = new Comment();
+                comment.setArticle(article);
+                comment.setAuthorName("Reader " + i);
+                comment.setAuthorEmail("reader-" + i + "@example.com");
+                comment.setContent("Seeded comment " + i);
+                comment.setApproved(true);
+                comments.add(commentRepository.save(comment));
+            }
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        commentRepository.deleteAllInBatch(comments);
+        articleRepository.deleteAllInBatch(articles);
+        categoryRepository.deleteAllInBatch(categories);
+        authorRepository.deleteAllInBatch(authors);
+    }
+
+    @Test
+    void articleListingIsOnePageQueryPlusCount() throws Exception {
+        mockMvc.perform(get("/api/articles").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2));
+    }
+
+    @Test
+    void authorListingCountsArticlesInOneGroupedQuery() throws Exception {
+        mockMvc.perform(get("/api/authors").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3));
+    }
+
+    @Test
+    void categoryListingCountsArticlesInOneGroupedQuery() throws Exception {
+        mockMvc.perform(get("/api/categories").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(3));
+    }
+}
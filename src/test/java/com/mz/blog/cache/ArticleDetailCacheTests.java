@@ -0,0 +1,62 @@
+package com.mz.blog.cache;
+
+import com.mz.blog.dto.response.ArticleDetailResponse;
+import com.mz.blog.dto.response.AuthorResponse;
+import com.mz.blog.event.AuthorChangedEvent;
+import com.mz.blog.event.ViewCountsFlushedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ArticleDetailCacheTests {
+
+    private final ArticleDetailCache cache = new ArticleDetailCache(100, 1 << 20, Duration.ofMinutes(10), Duration.ofSeconds(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void slugReadStillHitsAfterViewFlush() {
+        cache.getBySlug("hello-world", this::load);
+        cache.onViewCountsFlushed(new ViewCountsFlushedEvent(Map.of(7L, 3L)));
+
+        ArticleDetailResponse afterFlush = cache.getBySlug("hello-world", this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(13, afterFlush.getViewCount());
+        assertNotNull(cache.peekBySlug("hello-world"));
+        assertEquals(1, cache.stats().getHits());
+    }
+
+    @Test
+    void slugReadMissesAfterInvalidation() {
+        cache.getBySlug("hello-world", this::load);
+        cache.invalidate(7L);
+
+        cache.getBySlug("hello-world", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void authorChangeDropsOnlyThatAuthorsArticles() {
+        cache.getById(7L, id -> load("hello-world"));
+        cache.getById(8L, id -> ArticleDetailResponse.builder().id(id).slug("other")
+                .author(AuthorResponse.builder().id(2L).build()).build());
+
+        cache.onAuthorChanged(new AuthorChangedEvent(1L));
+
+        assertNull(cache.peek(7L));
+        assertNotNull(cache.peek(8L));
+    }
+
+    private ArticleDetailResponse load(String slug) {
+        loads.incrementAndGet();
+        return ArticleDetailResponse.builder().id(7L).slug(slug).title("Hello World").viewCount(10)
+                .author(AuthorResponse.builder().id(1L).name("Ada").build()).build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.mz.blog.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTests {
+
+    private static final int KEYS = 100_000;
+    private static final double TARGET_RATE = 0.01;
+
+    @Test
+    void everyAddedKeyIsFound() {
+        BloomFilter filter = new BloomFilter(KEYS, TARGET_RATE);
+        for (int i = 0; i < KEYS; i++) {
+            filter.add("slug-" + i);
+        }
+
+        for (int i = 0; i < KEYS; i++) {
+            assertTrue(filter.mightContain("slug-" + i), "false negative for slug-" + i);
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        BloomFilter filter = new BloomFilter(KEYS, TARGET_RATE);
+        for (int i = 0; i < KEYS; i++) {
+            filter.add("slug-" + i);
+        }
+
+        int probes = 200_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate < TARGET_RATE * 1.5, "measured false positive rate " + rate);
+    }
+
+    @Test
+    void saturatesOnlyPastItsCapacity() {
+        BloomFilter filter = new BloomFilter(10, TARGET_RATE);
+        for (int i = 0; i < 10; i++) {
+            filter.add("key-" + i);
+        }
+        assertFalse(filter.isSaturated());
+
+        filter.add("key-10");
+        assertTrue(filter.isSaturated());
+    }
+}
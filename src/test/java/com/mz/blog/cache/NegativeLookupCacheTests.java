@@ -0,0 +1,50 @@
+package com.mz.blog.cache;
+
+import com.mz.blog.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NegativeLookupCacheTests {
+
+    private final NegativeLookupCache cache = new NegativeLookupCache(100, Duration.ofMinutes(1));
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    void repeatedMissIsAnsweredWithoutALookup() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> cache.find("Article", "id", 42L, this::missing));
+        }
+
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void forgottenKeyIsLookedUpAgain() {
+        assertThrows(ResourceNotFoundException.class, () -> cache.find("Article", "id", 42L, this::missing));
+        cache.forgetAfterCommit("Article", "id", 42L);
+
+        assertEquals("found", cache.find("Article", "id", 42L, () -> Optional.of("found")));
+    }
+
+    @Test
+    void missThatRacedWithACommitIsNotRecorded() {
+        // the row commits, and its key is forgotten, after the lookup read nothing but before it returned
+        assertThrows(ResourceNotFoundException.class, () -> cache.find("Article", "id", 42L, () -> {
+            cache.forgetAfterCommit("Article", "id", 42L);
+            return missing();
+        }));
+
+        assertEquals("found", cache.find("Article", "id", 42L, () -> Optional.of("found")));
+    }
+
+    private Optional<String> missing() {
+        lookups.incrementAndGet();
+        return Optional.empty();
+    }
+}
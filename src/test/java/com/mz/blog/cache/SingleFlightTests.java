@@ -0,0 +1,113 @@
+package com.mz.blog.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTests {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch leaderStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("id", Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> leader = executor.submit(() -> flight.load(1L, this::blockingLoad));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> flight.load(1L, this::blockingLoad));
+            awaitCoalesced(flight, 1);
+            release.countDown();
+
+            assertEquals("article-1", leader.get(5, TimeUnit.SECONDS));
+            assertSame(leader.get(), follower.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void followerSeesTheLeadersException() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("id", Duration.ofSeconds(5));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> flight.load(1L, key -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new IllegalArgumentException("no article " + key);
+            }));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+            Future<String> follower = executor.submit(() -> flight.load(1L, this::blockingLoad));
+            awaitCoalesced(flight, 1);
+            release.countDown();
+
+            Exception failure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+            assertTrue(failure.getCause() instanceof IllegalArgumentException);
+            assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            assertEquals(0, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void followerLoadsOnItsOwnAfterTheWait() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("id", Duration.ofMillis(50));
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        try {
+            executor.submit(() -> flight.load(1L, this::blockingLoad));
+            assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+            assertEquals("article-1", flight.load(1L, key -> "article-" + key));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keyIsReleasedOnceTheLoadCompletes() {
+        SingleFlight<Long, String> flight = new SingleFlight<>("id", Duration.ofSeconds(5));
+
+        flight.load(1L, key -> "first");
+
+        assertEquals("second", flight.load(1L, key -> "second"));
+        assertEquals(0L, flight.getCoalesced());
+    }
+
+    private String blockingLoad(Long key) {
+        loads.incrementAndGet();
+        leaderStarted.countDown();
+        await(release);
+        return "article-" + key;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> flight, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
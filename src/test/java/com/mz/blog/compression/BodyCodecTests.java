@@ -0,0 +1,151 @@
+package com.mz.blog.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodyCodecTests {
+
+    private static final int MIN_BYTES = 64;
+
+    private final Map<Integer, byte[]> storedDictionaries = new HashMap<>();
+    private final BodyCodec codec = codec();
+
+    @Test
+    void shortBodyIsStoredAsPlainUtf8() {
+        String text = "Short comment";
+
+        byte[] stored = codec.encode(text);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(text, codec.decode(stored));
+    }
+
+    @Test
+    void longBodyIsCompressedAndRoundTrips() {
+        String text = "The quick brown fox jumps over the lazy dog. ".repeat(40);
+
+        byte[] stored = codec.encode(text);
+
+        assertTrue(BodyCodec.isCompressed(stored));
+        assertTrue(stored.length < text.length() / 4);
+        assertEquals(text, codec.decode(stored));
+    }
+
+    @Test
+    void incompressibleBodyIsStoredAsPlainUtf8() {
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < MIN_BYTES + 16; i++) {
+            text.append((char) ('!' + random.nextInt(94)));
+        }
+
+        byte[] stored = codec.encode(text.toString());
+
+        assertFalse(BodyCodec.isCompressed(stored));
+        assertEquals(text.toString(), codec.decode(stored));
+    }
+
+    @Test
+    void multiByteTextRoundTrips() {
+        String text = "Zürich, Łódź, 東京, Αθήνα and 😀 — ".repeat(30);
+
+        byte[] stored = codec.encode(text);
+
+        assertTrue(BodyCodec.isCompressed(stored));
+        assertEquals(text, codec.decode(stored));
+    }
+
+    @Test
+    void bodiesUnderARetiredDictionaryStillDecode() {
+        storedDictionaries.put(1, "Dictionary one with shared phrases ".repeat(20).getBytes(StandardCharsets.UTF_8));
+        storedDictionaries.put(2, "A later dictionary with other phrases ".repeat(20).getBytes(StandardCharsets.UTF_8));
+        String text = "Dictionary one with shared phrases and a body of its own. ".repeat(10);
+
+        codec.activate(1);
+        byte[] underOne = codec.encode(text);
+        codec.activate(2);
+
+        assertEquals(text, codec.decode(underOne));
+        // a fresh instance loads the retired dictionary on first use
+        assertEquals(text, codec().decode(underOne));
+    }
+
+    @Test
+    void unknownDictionaryIsRejected() {
+        storedDictionaries.put(1, "Dictionary one ".repeat(20).getBytes(StandardCharsets.UTF_8));
+        codec.activate(1);
+        byte[] stored = codec.encode("Dictionary one body ".repeat(20));
+        storedDictionaries.clear();
+
+        assertThrows(IllegalStateException.class, () -> codec().decode(stored));
+    }
+
+    @Test
+    void truncatedBodyIsRejected() {
+        byte[] stored = codec.encode("A body long enough to be compressed, and then cut short. ".repeat(20));
+
+        byte[] truncated = Arrays.copyOf(stored, stored.length - 8);
+
+        assertThrows(IllegalStateException.class, () -> codec.decode(truncated));
+    }
+
+    @Test
+    void corruptBodyIsRejected() {
+        byte[] stored = codec.encode("A body long enough to be compressed, and then garbled. ".repeat(20));
+        for (int i = BodyCodec.HEADER_BYTES; i < stored.length; i++) {
+            stored[i] = (byte) 0xFF;
+        }
+
+        assertThrows(IllegalStateException.class, () -> codec.decode(stored));
+    }
+
+    @Test
+    void trainedDictionaryShrinksSimilarBodies() {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            samples.add(("Welcome back to the weekly roundup of release notes, post " + i
+                    + ". As always, thanks for reading and see you next week.").getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] dictionary = DictionaryTrainer.train(samples, 4096);
+        String body = "Welcome back to the weekly roundup of release notes, post 51. "
+                + "Nothing else changed. As always, thanks for reading and see you next week.";
+
+        byte[] withoutDictionary = codec.encode(body);
+        storedDictionaries.put(1, dictionary);
+        codec.activate(1);
+        byte[] withDictionary = codec.encode(body);
+
+        assertTrue(dictionary.length > 0 && dictionary.length <= 4096);
+        assertTrue(withDictionary.length < withoutDictionary.length);
+        assertEquals(body, codec.decode(withDictionary));
+    }
+
+    private BodyCodec codec() {
+        // serves dictionary lookups by id from storedDictionaries
+        JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                byte[] dictionary = storedDictionaries.get((Integer) args[0]);
+                return dictionary == null ? List.of() : (List<T>) List.of(dictionary);
+            }
+        };
+        return new BodyCodec(jdbcTemplate, new SimpleMeterRegistry(), MIN_BYTES, 6);
+    }
+}
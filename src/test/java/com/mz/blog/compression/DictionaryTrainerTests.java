@@ -0,0 +1,58 @@
+package com.mz.blog.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DictionaryTrainerTests {
+
+    private static final String SHARED = "Thanks for reading, subscribe for the weekly engineering digest.";
+
+    @Test
+    void sharedPhraseEndsUpInTheDictionary() {
+        List<byte[]> samples = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 40; i++) {
+            samples.add((randomWords(random, 30) + " " + SHARED).getBytes(StandardCharsets.UTF_8));
+        }
+
+        String dictionary = new String(DictionaryTrainer.train(samples, 4096), StandardCharsets.UTF_8);
+
+        assertTrue(dictionary.contains("weekly engineering digest"), dictionary);
+    }
+
+    @Test
+    void samplesBeyondTheCountingTableStillTrainWithinTheLimit() {
+        // about 8 MiB of mostly distinct text, several times more shingles than the table admits
+        List<byte[]> samples = new ArrayList<>();
+        Random random = new Random(11);
+        long bytes = 0;
+        while (bytes < 8L << 20) {
+            byte[] sample = (randomWords(random, 200) + " " + SHARED).getBytes(StandardCharsets.UTF_8);
+            samples.add(sample);
+            bytes += sample.length;
+        }
+
+        byte[] dictionary = DictionaryTrainer.train(samples, DictionaryTrainer.MAX_DICTIONARY_BYTES);
+
+        assertTrue(dictionary.length > 0 && dictionary.length <= DictionaryTrainer.MAX_DICTIONARY_BYTES);
+        assertTrue(new String(dictionary, StandardCharsets.UTF_8).contains("engineering"));
+    }
+
+    private static String randomWords(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < count; w++) {
+            int length = 3 + random.nextInt(7);
+            for (int c = 0; c < length; c++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+            text.append(' ');
+        }
+        return text.toString().trim();
+    }
+}
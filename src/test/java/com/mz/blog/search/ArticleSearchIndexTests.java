@@ -0,0 +1,99 @@
+package com.mz.blog.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArticleSearchIndexTests {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // the repository is only used by rebuild
+    private final ArticleSearchIndex index = new ArticleSearchIndex(null);
+
+    @Test
+    void everyQueryTermMustMatch() {
+        index.index(1L, "Spring caching", null, "Caffeine in practice", DAY);
+        index.index(2L, "Spring security", null, "Filters and tokens", DAY);
+
+        ArticleSearchIndex.SearchResult result = index.search("spring caffeine", SearchSort.RELEVANCE, 0, 10);
+
+        assertEquals(List.of(1L), result.getArticleIds());
+        assertEquals(1L, result.getTotalHits());
+    }
+
+    @Test
+    void titleMatchOutranksContentMatch() {
+        index.index(1L, "Weekly notes", null, "A short aside about kotlin coroutines", DAY);
+        index.index(2L, "Kotlin coroutines", null, "Weekly notes", DAY);
+        index.index(3L, "Unrelated", null, "Nothing to see", DAY);
+
+        assertEquals(List.of(2L, 1L), index.search("kotlin", SearchSort.RELEVANCE, 0, 10).getArticleIds());
+    }
+
+    @Test
+    void recentSortOrdersByCreationTime() {
+        index.index(1L, "Java records", null, null, DAY);
+        index.index(2L, "Java records in depth, java records everywhere", null, null, DAY.minusDays(3));
+        index.index(3L, "Java modules", null, null, DAY.plusDays(1));
+
+        assertEquals(List.of(3L, 1L, 2L), index.search("java", SearchSort.RECENT, 0, 10).getArticleIds());
+    }
+
+    @Test
+    void pagesShareOneTotal() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(id, "Postgres tip " + id, null, null, DAY.plusDays(id));
+        }
+
+        ArticleSearchIndex.SearchResult second = index.search("postgres", SearchSort.RECENT, 2, 2);
+
+        assertEquals(List.of(3L, 2L), second.getArticleIds());
+        assertEquals(5L, second.getTotalHits());
+    }
+
+    @Test
+    void offsetsPastTheHitsReturnAnEmptyPage() {
+        index.index(1L, "Postgres tip", null, null, DAY);
+
+        ArticleSearchIndex.SearchResult result = index.search("postgres", SearchSort.RELEVANCE, (long) Integer.MAX_VALUE * 100, 100);
+
+        assertEquals(List.of(), result.getArticleIds());
+        assertEquals(1L, result.getTotalHits());
+    }
+
+    @Test
+    void hugeLimitIsSizedByTheHits() {
+        index.index(1L, "Postgres tip", null, null, DAY);
+
+        assertEquals(List.of(1L), index.search("postgres", SearchSort.RELEVANCE, 0, Integer.MAX_VALUE).getArticleIds());
+        assertEquals(List.of(), index.search("postgres", SearchSort.RELEVANCE, -1, 10).getArticleIds());
+    }
+
+    @Test
+    void reindexReplacesAndRemoveDropsTheArticle() {
+        index.index(1L, "Draft about gradle", null, null, DAY);
+        index.index(1L, "Final about maven", null, null, DAY);
+        index.index(2L, "Maven plugins", null, null, DAY);
+
+        assertEquals(0L, index.search("gradle", SearchSort.RELEVANCE, 0, 10).getTotalHits());
+        assertEquals(2L, index.search("maven", SearchSort.RELEVANCE, 0, 10).getTotalHits());
+
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search("maven", SearchSort.RELEVANCE, 0, 10).getArticleIds());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void queryIsTokenizedLikeTheDocuments() {
+        index.index(1L, "The Art of Profiling", null, null, DAY);
+
+        assertEquals(List.of(1L), index.search("PROFILING, the art!", SearchSort.RELEVANCE, 0, 10).getArticleIds());
+        assertEquals(List.of("art", "profiling"), Tokenizer.tokenize("The Art of Profiling"));
+        assertEquals(0L, index.search("the of", SearchSort.RELEVANCE, 0, 10).getTotalHits());
+    }
+}
@@ -0,0 +1,42 @@
+package com.mz.blog.service;
+
+import com.mz.blog.dto.response.ArticleDetailResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleETagTests {
+
+    private final LocalDateTime updatedOn = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Test
+    void tagIsWeak() {
+        assertTrue(ArticleETag.of(detail(3L, 100), 5).startsWith("W/\""));
+    }
+
+    @Test
+    void viewCountDoesNotChangeTheTag() {
+        assertEquals(ArticleETag.of(detail(3L, 100), 5), ArticleETag.of(detail(3L, 250), 5));
+    }
+
+    @Test
+    void versionAndCommentWindowChangeTheTag() {
+        String tag = ArticleETag.of(detail(3L, 100), 5);
+
+        assertNotEquals(tag, ArticleETag.of(detail(4L, 100), 5));
+        assertNotEquals(tag, ArticleETag.of(detail(3L, 100), 10));
+    }
+
+    private ArticleDetailResponse detail(Long version, int viewCount) {
+        return ArticleDetailResponse.builder()
+                .id(7L)
+                .version(version)
+                .updatedOn(updatedOn)
+                .viewCount(viewCount)
+                .build();
+    }
+}
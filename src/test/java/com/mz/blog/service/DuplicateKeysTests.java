@@ -0,0 +1,30 @@
+package com.mz.blog.service;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateKeysTests {
+
+    @Test
+    void uniqueViolationIsADuplicateKey() {
+        assertTrue(DuplicateKeys.isDuplicateKey(violation(ConstraintViolationException.ConstraintKind.UNIQUE)));
+    }
+
+    @Test
+    void foreignKeyViolationIsNot() {
+        assertFalse(DuplicateKeys.isDuplicateKey(violation(ConstraintViolationException.ConstraintKind.FOREIGN_KEY)));
+        assertFalse(DuplicateKeys.isDuplicateKey(new DataIntegrityViolationException("no cause")));
+    }
+
+    private static DataIntegrityViolationException violation(ConstraintViolationException.ConstraintKind kind) {
+        ConstraintViolationException cause = new ConstraintViolationException("insert failed",
+                new SQLException("constraint failed"), kind, "articles.UK_slug");
+        return new DataIntegrityViolationException("could not execute statement", cause);
+    }
+}
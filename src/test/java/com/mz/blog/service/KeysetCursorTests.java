@@ -0,0 +1,45 @@
+package com.mz.blog.service;
+
+import com.mz.blog.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTests {
+
+    @Test
+    void encodedPositionDecodesToTheSameRow() {
+        LocalDateTime createdOn = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_000_000);
+
+        KeysetCursor position = KeysetCursor.decode(KeysetCursor.encode(createdOn, 42L));
+
+        assertEquals(createdOn, position.getCreatedOn());
+        assertEquals(42L, position.getId());
+    }
+
+    @Test
+    void blankCursorStartsFromTheNewestRow() {
+        KeysetCursor first = KeysetCursor.decode("");
+
+        assertEquals(Long.MAX_VALUE, first.getId());
+        assertEquals(first.getCreatedOn(), KeysetCursor.decode(null).getCreatedOn());
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    @Test
+    void pageSizeOutsideTheBoundsIsABadRequest() {
+        assertEquals(1, KeysetCursor.checkPageSize(1));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.checkPageSize(KeysetCursor.MAX_PAGE_SIZE));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.checkPageSize(0));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.checkPageSize(-5));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.checkPageSize(Integer.MAX_VALUE));
+    }
+}
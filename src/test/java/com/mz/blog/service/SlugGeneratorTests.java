@@ -0,0 +1,88 @@
+package com.mz.blog.service;
+
+import com.mz.blog.cache.UniqueKeyFilters;
+import com.mz.blog.repository.ArticleRepository;
+import com.mz.blog.repository.AuthorRepository;
+import com.mz.blog.repository.CategoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlugGeneratorTests {
+
+    @Test
+    void punctuationIsDroppedAndSeparatorsCollapse() {
+        assertEquals("hello-world", SlugGenerator.slugify("Hello, World!"));
+        assertEquals("leading-and-trailing", SlugGenerator.slugify("  --Leading__and   trailing--  "));
+        assertEquals("top-10-tips", SlugGenerator.slugify("Top 10 tips"));
+    }
+
+    @Test
+    void titleWithoutAsciiLettersFallsBack() {
+        assertEquals("caf-au-lait", SlugGenerator.slugify("Café au lait"));
+        assertEquals(SlugGenerator.FALLBACK_SLUG, SlugGenerator.slugify("日本語のタイトル"));
+        assertEquals(SlugGenerator.FALLBACK_SLUG, SlugGenerator.slugify("?!"));
+    }
+
+    @Test
+    void longTitleIsCutAtTheBaseLengthWithoutATrailingDash() {
+        String slug = SlugGenerator.slugify("a".repeat(SlugGenerator.MAX_BASE_LENGTH - 1) + " bc");
+
+        assertEquals(SlugGenerator.MAX_BASE_LENGTH - 1, slug.length());
+        assertEquals(SlugGenerator.MAX_BASE_LENGTH, SlugGenerator.slugify("x".repeat(500)).length());
+    }
+
+    @Test
+    void digitsInOtherTitlesDoNotMoveTheSuffix() {
+        Set<String> taken = Set.of("hello-world", "hello-world-2024", "hello-world-2");
+
+        assertEquals(3, SlugGenerator.firstFreeSuffix("hello-world", taken, SlugGenerator.FIRST_SUFFIX));
+        assertEquals(2, SlugGenerator.firstFreeSuffix("top", Set.of("top", "top-10"), SlugGenerator.FIRST_SUFFIX));
+    }
+
+    @Test
+    void takenSlugGetsTheLowestFreeSuffix() {
+        SlugGenerator generator = generator(List.of("recap", "recap-2024", "recap-2"));
+
+        assertEquals("recap-3", generator.uniqueArticleSlug("Recap", null));
+    }
+
+    @Test
+    void batchNumbersRepeatedTitlesPastTheStoredOnes() {
+        SlugGenerator generator = generator(List.of("recap", "recap-2024", "recap-2"));
+
+        List<String> slugs = generator.uniqueArticleSlugs(List.of("Recap", "Fresh", "Recap", "Fresh"));
+
+        assertEquals(List.of("recap-3", "fresh", "recap-4", "fresh-2"), slugs);
+    }
+
+    private static SlugGenerator generator(List<String> storedSlugs) {
+        ArticleRepository articles = stub(ArticleRepository.class, (method, args) -> switch (method) {
+            case "findSlugsWithPrefix" -> storedSlugs.stream()
+                    .filter(slug -> slug.equals(args[0]) || slug.startsWith(args[0] + "-"))
+                    .toList();
+            case "findSlugsIn" -> storedSlugs.stream().filter(((Collection<?>) args[0])::contains).toList();
+            default -> throw new UnsupportedOperationException(method);
+        });
+        // never built, so every key "might exist" and each lookup reaches the repository
+        UniqueKeyFilters filters = new UniqueKeyFilters(articles, stub(AuthorRepository.class, null),
+                stub(CategoryRepository.class, null), stub(PlatformTransactionManager.class, null), 0.01, 1000);
+        return new SlugGenerator(articles, filters);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> answer.apply(method.getName(), args));
+    }
+
+    private interface Answer {
+        Object apply(String method, Object[] args);
+    }
+}
@@ -0,0 +1,68 @@
+package com.mz.blog.support;
+
+import com.mz.blog.metrics.QueryCountFilter;
+import com.mz.blog.metrics.QueryStats;
+import com.mz.blog.metrics.StatementCounter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Query budget assertions for integration tests. Service calls are measured directly on the
+ * calling thread; MockMvc requests are checked through the {@link QueryCountFilter#HEADER} header.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static QueryStats measure(Runnable action) {
+        QueryStats stats = StatementCounter.start();
+        try {
+            action.run();
+        } finally {
+            StatementCounter.stop(stats);
+        }
+        return stats;
+    }
+
+    public static <T> T assertAtMost(long maxStatements, Supplier<T> action) {
+        Object[] result = new Object[1];
+        QueryStats stats = measure(() -> result[0] = action.get());
+        check(maxStatements, stats.getTotal(), stats.getCountsByShape());
+        @SuppressWarnings("unchecked")
+        T value = (T) result[0];
+        return value;
+    }
+
+    public static void assertAtMost(long maxStatements, Runnable action) {
+        QueryStats stats = measure(action);
+        check(maxStatements, stats.getTotal(), stats.getCountsByShape());
+    }
+
+    public static void assertNoRepeats(int threshold, Runnable action) {
+        Map<String, Integer> repeated = measure(action).repeatedShapes(threshold);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("Statements repeated more than " + threshold + " times: " + repeated);
+        }
+    }
+
+    // requires blog.sql.statement-count-header=true
+    public static ResultMatcher statementsAtMost(long maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryCountFilter.HEADER);
+            if (header == null) {
+                throw new AssertionError("Response has no " + QueryCountFilter.HEADER + " header");
+            }
+            check(maxStatements, Long.parseLong(header), Map.of());
+        };
+    }
+
+    private static void check(long maxStatements, long actual, Map<String, Integer> countsByShape) {
+        if (actual > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but " + actual + " were issued"
+                    + (countsByShape.isEmpty() ? "" : ": " + countsByShape));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.mz.blog.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKTests {
+
+    private final TopK top = new TopK(3);
+
+    @Test
+    void keepsTheHighestScoresInOrder() {
+        top.offer(1, 5.0);
+        top.offer(2, 9.0);
+        top.offer(3, 1.0);
+        top.offer(4, 7.0);
+        top.publish();
+
+        assertEquals(List.of(2L, 4L, 1L), ids(top.snapshot()));
+        assertFalse(top.contains(3));
+    }
+
+    @Test
+    void scoreBelowTheLowestIsIgnoredOnceFull() {
+        top.offer(1, 5.0);
+        top.offer(2, 6.0);
+        top.offer(3, 7.0);
+        top.offer(4, 5.0);
+        top.publish();
+
+        assertEquals(List.of(3L, 2L, 1L), ids(top.snapshot()));
+    }
+
+    @Test
+    void reofferedArticleMovesInsteadOfDuplicating() {
+        top.offer(1, 5.0);
+        top.offer(2, 6.0);
+        top.offer(1, 8.0);
+        top.publish();
+
+        assertEquals(List.of(1L, 2L), ids(top.snapshot()));
+        assertEquals(8.0, top.snapshot().get(0).getScore(), 0.0);
+    }
+
+    @Test
+    void equalScoresAreOrderedById() {
+        top.offer(9, 3.0);
+        top.offer(4, 3.0);
+        top.publish();
+
+        assertEquals(List.of(4L, 9L), ids(top.snapshot()));
+    }
+
+    @Test
+    void snapshotChangesOnlyOnPublish() {
+        top.offer(1, 5.0);
+        top.publish();
+        top.offer(2, 6.0);
+        assertTrue(top.remove(1));
+
+        assertEquals(List.of(1L), ids(top.snapshot()));
+        top.publish();
+        assertEquals(List.of(2L), ids(top.snapshot()));
+    }
+
+    @Test
+    void rescaleKeepsTheOrder() {
+        top.offer(1, 4.0);
+        top.offer(2, 8.0);
+        top.rescale(0.5);
+        top.publish();
+
+        assertEquals(List.of(2L, 1L), ids(top.snapshot()));
+        assertEquals(2.0, top.snapshot().get(1).getScore(), 1e-9);
+    }
+
+    private static List<Long> ids(List<TrendingTracker.Ranked> ranked) {
+        return ranked.stream().map(TrendingTracker.Ranked::getArticleId).toList();
+    }
+}